@@ -0,0 +1,70 @@
+package com.example.demo.config;
+
+import com.example.demo.src.post.model.GetPostImgRes;
+import com.example.demo.src.post.model.GetPostsRes;
+import com.example.demo.src.user.model.GetUserFeedRes;
+import com.example.demo.src.user.model.GetUserInfoRes;
+import com.example.demo.src.user.model.GetUserPostsRes;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메인 화면(게시물 20개, 이미지 3장씩) / 유저 피드(게시물 30개) 응답 직렬화
+ * ObjectMapper 는 Spring Boot 와 같은 기본 설정(Jackson2ObjectMapperBuilder)을 사용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BaseResponseJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private BaseResponse<List<GetPostsRes>> postsResponse;
+    private BaseResponse<GetUserFeedRes> userFeedResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<GetPostsRes> posts = new ArrayList<>();
+        for (int postIdx = 20; postIdx > 0; postIdx--) {
+            List<GetPostImgRes> imgs = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                imgs.add(new GetPostImgRes(postIdx * 10 + i, "https://cdn.example.com/posts/" + postIdx + "/" + i + ".jpg"));
+            }
+            posts.add(new GetPostsRes(postIdx, postIdx % 5 + 1, "user" + postIdx, "https://cdn.example.com/profiles/" + postIdx + ".jpg",
+                    "오늘 날씨가 좋아서 산책했어요 #" + postIdx, postIdx * 3, postIdx, System.currentTimeMillis() - postIdx * 60_000L, postIdx % 2 == 0 ? "Y" : "N", imgs));
+        }
+        postsResponse = new BaseResponse<>(posts);
+
+        List<GetUserPostsRes> userPosts = new ArrayList<>();
+        for (int postIdx = 1; postIdx <= 30; postIdx++) {
+            userPosts.add(new GetUserPostsRes(postIdx, "https://cdn.example.com/posts/" + postIdx + "/1.jpg"));
+        }
+        GetUserInfoRes userInfo = new GetUserInfoRes("nickname", "홍길동", "https://cdn.example.com/profiles/1.jpg",
+                "https://example.com", "안녕하세요", 120, 80, 30);
+        userFeedResponse = new BaseResponse<>(new GetUserFeedRes(true, userInfo, userPosts));
+    }
+
+    @Benchmark
+    public byte[] posts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(postsResponse);
+    }
+
+    @Benchmark
+    public byte[] userFeed() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userFeedResponse);
+    }
+}
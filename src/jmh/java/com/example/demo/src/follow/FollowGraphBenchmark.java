@@ -0,0 +1,100 @@
+package com.example.demo.src.follow;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 팔로우 관계 (FollowGraph) 메모리 / 조회 비용
+ * edges 개의 팔로우 관계를 DB 없이 채우고, edge 당 메모리(채우기 전후 heap 차이 / FollowGraph.sizeInBytes 추정치)를 setUp 에서 출력한다.
+ * 팔로워 수는 일부 유저에게 몰리도록 만든다 (팔로우 되는 유저를 r^3 분포로 선택).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FollowGraphBenchmark {
+
+    @Param("10000000")
+    private int edges;
+    @Param("1000000")
+    private int users;
+
+    private int[] followerIdxs;
+    private int[] followeeIdxs;
+    private FollowGraph graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        followerIdxs = new int[edges];
+        followeeIdxs = new int[edges];
+        for (int i = 0; i < edges; i++) {
+            followerIdxs[i] = 1 + random.nextInt(users);
+            followeeIdxs[i] = 1 + (int) (users * Math.pow(random.nextDouble(), 3));
+        }
+
+        // 팔로우 관계를 채우기 전후의 heap 사용량 차이 (입력 배열은 양쪽에 모두 포함)
+        long before = usedHeap();
+        graph = new FollowGraph(null);
+        graph.load(followerIdxs, followeeIdxs, edges);
+        long after = usedHeap();
+        // JMH 보조 지표(AuxCounters EVENTS)는 iteration 마다 합산되므로 fork 출력으로 남긴다
+        System.out.printf("%nFollowGraph memory : heap %.2f bytes/edge, estimated %.2f bytes/edge (%d edges, %d users)%n",
+                (double) (after - before) / edges, (double) graph.sizeInBytes() / edges, edges, users);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final SplittableRandom random = new SplittableRandom(2);
+    }
+
+    // 팔로우 하는 유저 목록 (메인 화면 ETag / 조회)
+    @Benchmark
+    public int[] followees(Cursor cursor) {
+        return graph.followees(1 + cursor.random.nextInt(users));
+    }
+
+    // 팔로워 목록 (게시물 fan-out), 팔로워가 많은 유저 위주
+    @Benchmark
+    public int[] followers(Cursor cursor) {
+        return graph.followers(1 + (int) (users * Math.pow(cursor.random.nextDouble(), 3)));
+    }
+
+    // 팔로우 후 언팔로우 (변경분 기록 / 목록 다시 만들기)
+    @Benchmark
+    public void followAndUnfollow(Cursor cursor) {
+        int followerIdx = 1 + cursor.random.nextInt(users);
+        int followeeIdx = 1 + (int) (users * Math.pow(cursor.random.nextDouble(), 3));
+        graph.update(followerIdx, followeeIdx, true);
+        graph.update(followerIdx, followeeIdx, false);
+    }
+
+    // 전체 팔로우 관계를 다시 만드는 시간 (서버 시작 / rebuild)
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public FollowGraph load() {
+        FollowGraph loaded = new FollowGraph(null);
+        loaded.load(followerIdxs, followeeIdxs, edges);
+        return loaded;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
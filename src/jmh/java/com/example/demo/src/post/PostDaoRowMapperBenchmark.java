@@ -0,0 +1,49 @@
+package com.example.demo.src.post;
+
+import com.example.demo.src.post.model.GetPostsRes;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메인 화면 게시물 RowMapper (DB 없이 메모리 ResultSet 의 한 행을 매핑)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostDaoRowMapperBenchmark {
+
+    private SimpleResultSet resultSet;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        resultSet = new SimpleResultSet();
+        resultSet.addColumn("postIdx", Types.INTEGER, 10, 0);
+        resultSet.addColumn("userIdx", Types.INTEGER, 10, 0);
+        resultSet.addColumn("nickName", Types.VARCHAR, 45, 0);
+        resultSet.addColumn("profileImgUrl", Types.VARCHAR, 255, 0);
+        resultSet.addColumn("content", Types.VARCHAR, 450, 0);
+        resultSet.addColumn("postLikeCount", Types.INTEGER, 10, 0);
+        resultSet.addColumn("commentCount", Types.INTEGER, 10, 0);
+        resultSet.addColumn("updatedAt", Types.TIMESTAMP, 19, 0);
+        resultSet.addColumn("likeOrNot", Types.VARCHAR, 1, 0);
+        resultSet.addRow(12, 3, "user3", "https://cdn.example.com/profiles/3.jpg", "오늘 날씨가 좋아서 산책했어요", 36, 12, new Timestamp(System.currentTimeMillis() - 300_000), "Y");
+        resultSet.next();
+    }
+
+    @Benchmark
+    public GetPostsRes postsRowMapper() throws SQLException {
+        return PostDao.postsRowMapper.mapRow(resultSet, 0);
+    }
+}
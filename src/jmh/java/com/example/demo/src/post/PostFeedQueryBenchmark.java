@@ -0,0 +1,146 @@
+package com.example.demo.src.post;
+
+import com.example.demo.src.post.model.GetPostImgRes;
+import com.example.demo.src.post.model.GetPostsRes;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메인 화면 (GET /posts?userIdx=) 게시물 조회 : 게시물 이미지를 행마다 조회(perRow, 변경 전) vs 한 번에 조회(batched, PostDao.selectPosts)
+ * H2 메모리 DB 에 팔로우 한 유저 followees 명의 게시물(게시물당 이미지 2장)을 만들고 limit 개 페이지를 조회한다.
+ * 응답 시간 분위수(p0.99 등)는 SampleTime 결과로, 페이지당 SQL 문 수는 trial 이 끝날 때 출력한다.
+ * roundTripMicros 는 SQL 문마다 더하는 네트워크 왕복 시간이다 (MySQL 서버가 다른 장비에 있는 경우).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostFeedQueryBenchmark {
+
+    @Param({"perRow", "batched"})
+    private String imgLoading;
+    @Param({"20", "200"})
+    private int limit;
+    @Param({"0", "200"})
+    private long roundTripMicros;
+
+    private static final int FOLLOWEES = 50;
+    private static final int POSTS_PER_USER = 10;
+
+    private StatementCountingDataSource dataSource;
+    private PostDao postDao;
+    private JdbcTemplate jdbcTemplate;
+    private int[] followeeIdxs;
+    private final LongAdder pages = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:feed-" + imgLoading + "-" + limit + "-" + roundTripMicros + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        JdbcTemplate setUp = new JdbcTemplate(h2);
+        setUp.execute("CREATE TABLE User (userIdx INT AUTO_INCREMENT PRIMARY KEY, nickName VARCHAR(45), profileImgUrl VARCHAR(255))");
+        setUp.execute("CREATE TABLE Post (postIdx INT AUTO_INCREMENT PRIMARY KEY, userIdx INT, content VARCHAR(450),"
+                + " status VARCHAR(10) DEFAULT 'ACTIVE', updatedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        setUp.execute("CREATE INDEX Post_userIdx ON Post (userIdx, postIdx)");
+        setUp.execute("CREATE TABLE PostImgUrl (postImgUrlIdx INT AUTO_INCREMENT PRIMARY KEY, postIdx INT, imgUrl VARCHAR(255),"
+                + " status VARCHAR(10) DEFAULT 'ACTIVE')");
+        setUp.execute("CREATE INDEX PostImgUrl_postIdx ON PostImgUrl (postIdx)");
+        setUp.execute("CREATE TABLE PostCount (postIdx INT PRIMARY KEY, postLikeCount INT DEFAULT 0, commentCount INT DEFAULT 0)");
+
+        followeeIdxs = new int[FOLLOWEES];
+        for (int userIdx = 1; userIdx <= FOLLOWEES; userIdx++) {
+            setUp.update("INSERT INTO User (nickName, profileImgUrl) VALUES (?, ?)", "user" + userIdx, "https://cdn.example.com/profiles/" + userIdx + ".jpg");
+            followeeIdxs[userIdx - 1] = userIdx;
+        }
+        int postIdx = 0;
+        for (int i = 0; i < POSTS_PER_USER; i++) {
+            for (int userIdx = 1; userIdx <= FOLLOWEES; userIdx++) {
+                setUp.update("INSERT INTO Post (userIdx, content) VALUES (?, ?)", userIdx, "오늘 날씨가 좋아서 산책했어요");
+                postIdx++;
+                setUp.update("INSERT INTO PostCount (postIdx, postLikeCount, commentCount) VALUES (?, ?, ?)", postIdx, postIdx % 40, postIdx % 7);
+                for (int img = 0; img < 2; img++) {
+                    setUp.update("INSERT INTO PostImgUrl (postIdx, imgUrl) VALUES (?, ?)", postIdx, "https://cdn.example.com/posts/" + postIdx + "-" + img + ".jpg");
+                }
+            }
+        }
+
+        dataSource = new StatementCountingDataSource(h2, roundTripMicros);
+        postDao = new PostDao();
+        postDao.setDataSource(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounts() {
+        dataSource.reset();
+        pages.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printCounts() {
+        System.out.printf("%nGET /posts (%s, limit=%d) : %.1f SQL statements/page%n", imgLoading, limit, (double) dataSource.getStatements() / pages.sum());
+    }
+
+    @Benchmark
+    public List<GetPostsRes> feedPage() {
+        pages.increment();
+        if (imgLoading.equals("perRow")) {
+            return selectPostsPerRowImgs();
+        }
+        return postDao.selectPosts(followeeIdxs, Integer.MAX_VALUE, limit);
+    }
+
+    // 변경 전 PostDao.selectPosts : RowMapper 안에서 게시물마다 이미지 조회 (게시물 N 개에 N + 1 번 조회)
+    private List<GetPostsRes> selectPostsPerRowImgs() {
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        List<Object> params = new ArrayList<>();
+        for (int followeeIdx : followeeIdxs) {
+            placeholders.add("?");
+            params.add(followeeIdx);
+        }
+        params.addAll(Arrays.asList(Integer.MAX_VALUE, limit));
+        String selectPostsQuery = "SELECT p.postIdx as postIdx, u.userIdx as userIdx, u.nickName as nickName, u.profileImgUrl as profileImgUrl,\n" +
+                "       p.content as content, IFNULL(pc.postLikeCount, 0) as postLikeCount, IFNULL(pc.commentCount, 0) as commentCount,\n" +
+                "       p.updatedAt as updatedAt, 'N' as likeOrNot\n" +
+                "FROM Post as p join User as u on u.userIdx = p.userIdx left join PostCount as pc on pc.postIdx = p.postIdx\n" +
+                "WHERE p.userIdx in " + placeholders + " and p.status = 'ACTIVE' and p.postIdx < ?\n" +
+                "order by p.postIdx desc limit ?";
+        return jdbcTemplate.query(selectPostsQuery,
+                (rs, rowNum) -> new GetPostsRes(
+                        rs.getInt("postIdx"),
+                        rs.getInt("userIdx"),
+                        rs.getString("nickName"),
+                        rs.getString("profileImgUrl"),
+                        rs.getString("content"),
+                        rs.getInt("postLikeCount"),
+                        rs.getInt("commentCount"),
+                        rs.getTimestamp("updatedAt").getTime(),
+                        rs.getString("likeOrNot"),
+                        jdbcTemplate.query("SELECT pi.postImgUrlIdx,\n" +
+                                        "            pi.imgUrl\n" +
+                                        "        FROM PostImgUrl as pi\n" +
+                                        "            join Post as p on p.postIdx = pi.postIdx\n" +
+                                        "        WHERE pi.status = 'ACTIVE' and p.postIdx = ?;\n",
+                                (rk, rownum) -> new GetPostImgRes(
+                                        rk.getInt("postImgUrlIdx"),
+                                        rk.getString("imgUrl")
+                                ), rs.getInt("postIdx"))
+                ), params.toArray());
+    }
+}
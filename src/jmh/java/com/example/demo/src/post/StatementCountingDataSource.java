@@ -0,0 +1,64 @@
+package com.example.demo.src.post;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 실행한 SQL 문 수를 세는 DataSource (벤치마크용)
+ * Connection 의 prepareStatement / createStatement / prepareCall 호출 수를 세고,
+ * 메모리 DB 에는 없는 네트워크 왕복 시간을 roundTripMicros 만큼 기다려서 흉내 낸다.
+ */
+class StatementCountingDataSource extends DelegatingDataSource {
+
+    private final LongAdder statements = new LongAdder();
+    private final long roundTripNanos;
+
+    StatementCountingDataSource(DataSource targetDataSource, long roundTripMicros) {
+        super(targetDataSource);
+        this.roundTripNanos = TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    long getStatements() {
+        return statements.sum();
+    }
+
+    void reset() {
+        statements.reset();
+    }
+
+    private Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("createStatement") || name.equals("prepareCall")) {
+                        statements.increment();
+                        if (roundTripNanos > 0) {
+                            LockSupport.parkNanos(roundTripNanos);
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    }
+                });
+    }
+}
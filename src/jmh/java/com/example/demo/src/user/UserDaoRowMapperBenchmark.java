@@ -0,0 +1,60 @@
+package com.example.demo.src.user;
+
+import com.example.demo.src.user.model.GetUserInfoRes;
+import com.example.demo.src.user.model.GetUserPostsRes;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 피드 RowMapper (DB 없이 메모리 ResultSet 의 한 행을 매핑)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserDaoRowMapperBenchmark {
+
+    private SimpleResultSet userInfoResultSet;
+    private SimpleResultSet userPostsResultSet;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        userInfoResultSet = new SimpleResultSet();
+        userInfoResultSet.addColumn("name", Types.VARCHAR, 45, 0);
+        userInfoResultSet.addColumn("nickName", Types.VARCHAR, 45, 0);
+        userInfoResultSet.addColumn("profileImgUrl", Types.VARCHAR, 255, 0);
+        userInfoResultSet.addColumn("introduction", Types.VARCHAR, 255, 0);
+        userInfoResultSet.addColumn("website", Types.VARCHAR, 255, 0);
+        userInfoResultSet.addColumn("postCount", Types.INTEGER, 10, 0);
+        userInfoResultSet.addColumn("followerCount", Types.INTEGER, 10, 0);
+        userInfoResultSet.addColumn("followingCount", Types.INTEGER, 10, 0);
+        userInfoResultSet.addRow("홍길동", "nickname", "https://cdn.example.com/profiles/1.jpg", "안녕하세요", "https://example.com", 30, 120, 80);
+        userInfoResultSet.next();
+
+        userPostsResultSet = new SimpleResultSet();
+        userPostsResultSet.addColumn("postIdx", Types.INTEGER, 10, 0);
+        userPostsResultSet.addColumn("postImgUrl", Types.VARCHAR, 255, 0);
+        userPostsResultSet.addRow(12, "https://cdn.example.com/posts/12/1.jpg");
+        userPostsResultSet.next();
+    }
+
+    @Benchmark
+    public GetUserInfoRes userInfoRowMapper() throws SQLException {
+        return UserDao.userInfoRowMapper.mapRow(userInfoResultSet, 0);
+    }
+
+    @Benchmark
+    public GetUserPostsRes userPostsRowMapper() throws SQLException {
+        return UserDao.userPostsRowMapper.mapRow(userPostsResultSet, 0);
+    }
+}
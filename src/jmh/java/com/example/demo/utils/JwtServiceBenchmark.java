@@ -0,0 +1,92 @@
+package com.example.demo.utils;
+
+import com.example.demo.config.BaseException;
+import com.example.demo.config.secret.Secret;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 생성 / 검증
+ * getUserIdxFromHeader 는 필터를 거치지 않은 요청(헤더에서 꺼내서 캐시 확인), verifyJwtUncached 는 캐시가 없을 때의 서명 검증 비용
+ * 변경 전후 비교 : verifyJwtStringKey(변경 전, 매번 문자열 키로 파싱) vs verifyJwtCached(변경 후, 캐시 hit)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private String accessToken;
+    private MockHttpServletRequest filteredRequest;
+    private MockHttpServletRequest headerRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws BaseException {
+        jwtService = new JwtService(100_000, 600);
+        // TTL 0 : 검증 결과가 바로 만료되어 매번 서명을 검증한다
+        uncachedJwtService = new JwtService(100_000, 0);
+        accessToken = jwtService.createJwt(1);
+        jwtService.verifyJwt(accessToken);
+
+        filteredRequest = new MockHttpServletRequest();
+        filteredRequest.setAttribute(JwtService.USER_IDX_ATTRIBUTE, 1);
+        headerRequest = new MockHttpServletRequest();
+        headerRequest.addHeader(JwtService.JWT_HEADER, accessToken);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public String createJwt() {
+        return jwtService.createJwt(1);
+    }
+
+    @Benchmark
+    public int getUserIdxFromFilter() throws BaseException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(filteredRequest));
+        return jwtService.getUserIdx();
+    }
+
+    @Benchmark
+    public int getUserIdxFromHeader() throws BaseException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(headerRequest));
+        return jwtService.getUserIdx();
+    }
+
+    @Benchmark
+    public int verifyJwtUncached() throws BaseException {
+        return uncachedJwtService.verifyJwt(accessToken);
+    }
+
+    @Benchmark
+    public int verifyJwtCached() throws BaseException {
+        return jwtService.verifyJwt(accessToken);
+    }
+
+    // 변경 전 JwtService.getUserIdx : 요청마다 문자열 키(Base64 디코딩)로 서명 검증 + claims 파싱, 캐시 X
+    @Benchmark
+    public int verifyJwtStringKey() {
+        return Jwts.parser()
+                .setSigningKey(Secret.JWT_SECRET_KEY)
+                .parseClaimsJws(accessToken)
+                .getBody()
+                .get("userIdx", Integer.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.utils;
+
+import com.example.demo.config.BaseResponseStatus;
+import com.example.demo.src.auth.model.PostLoginReq;
+import com.example.demo.src.post.model.PostImgUrlsReq;
+import com.example.demo.src.post.model.PostPostsReq;
+import com.example.demo.src.user.model.PostUserReq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 validation (통과하는 요청 기준)
+ * gc 프로파일러의 gc.alloc.rate.norm 이 0 B/op 이어야 한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestValidatorBenchmark {
+
+    private PostUserReq postUserReq;
+    private PostLoginReq postLoginReq;
+    private PostPostsReq postPostsReq;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postUserReq = new PostUserReq("홍길동", "nickname", "1995-01-01", "softsquared.user01@gmail.com", "password1234");
+        postLoginReq = new PostLoginReq("softsquared.user01@gmail.com", "password1234");
+        postPostsReq = new PostPostsReq(1, "오늘 날씨가 좋아서 산책했어요",
+                Collections.singletonList(new PostImgUrlsReq("https://cdn.example.com/posts/1/1.jpg")));
+    }
+
+    @Benchmark
+    public BaseResponseStatus postUserReq() {
+        return RequestValidators.POST_USER_REQ.validate(postUserReq);
+    }
+
+    @Benchmark
+    public BaseResponseStatus postLoginReq() {
+        return RequestValidators.POST_LOGIN_REQ.validate(postLoginReq);
+    }
+
+    @Benchmark
+    public BaseResponseStatus postPostsReq() {
+        return RequestValidators.POST_POSTS_REQ.validate(postPostsReq);
+    }
+
+    @Benchmark
+    public boolean isEmail() {
+        return ValidationScanner.isEmail(postUserReq.getEmail());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SHA256Benchmark {
+
+    @Param({"password1234", "a-much-longer-passphrase-that-users-sometimes-choose-2021"})
+    public String password;
+
+    @Benchmark
+    public String encrypt() {
+        return SHA256.encrypt(password);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.utils.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * 목표 p99 를 지키면서 버틸 수 있는 최대 동시 접속 수 찾기 (closed model)
+ * 동시 접속 수를 두 배씩 늘리다가 목표를 넘기면, 마지막으로 통과한 값과 실패한 값 사이를 이분 탐색한다.
+ * 같은 데이터로 server.virtual-threads.enabled=true / false 를 각각 실행해서 결과를 비교한다.
+ */
+public class CapacitySearch {
+
+    private final LoadGenerator loadGenerator;
+    private final LoadTestEndpoint endpoint;
+    private final double targetP99Millis;
+    private final double maxErrorRate;
+    private final long stepMillis;
+    private final PrintStream out;
+
+    public CapacitySearch(LoadGenerator loadGenerator, LoadTestEndpoint endpoint, double targetP99Millis, double maxErrorRate,
+                          long stepMillis, PrintStream out) {
+        this.loadGenerator = loadGenerator;
+        this.endpoint = endpoint;
+        this.targetP99Millis = targetP99Millis;
+        this.maxErrorRate = maxErrorRate;
+        this.stepMillis = stepMillis;
+        this.out = out;
+    }
+
+    /*
+    @return 목표를 지킨 최대 동시 접속 수, startConcurrency 부터 실패하면 0
+     */
+    public int run(String title, int startConcurrency, int maxConcurrency) throws InterruptedException {
+        out.println();
+        out.println(String.format(Locale.ROOT, "== %s : %s p99 <= %.1fms, errors <= %.1f%% ==",
+                title, endpoint.getLabel(), targetP99Millis, maxErrorRate * 100));
+        out.println(String.format(Locale.ROOT, "%11s %10s %9s %9s %9s %8s %6s",
+                "concurrency", "req/s", "p50(ms)", "p99(ms)", "max(ms)", "errors", "pass"));
+
+        int passed = 0;
+        int failed = 0;
+        for (int concurrency = startConcurrency; concurrency <= maxConcurrency; concurrency *= 2) {
+            if (!step(concurrency)) {
+                failed = concurrency;
+                break;
+            }
+            passed = concurrency;
+        }
+        if (failed == 0) {
+            out.println("max-concurrency(" + maxConcurrency + ") 까지 목표를 지켰습니다");
+            return passed;
+        }
+
+        // 12.5% 간격이 될 때까지 좁힌다
+        while (passed > 0 && failed - passed > Math.max(1, passed / 8)) {
+            int concurrency = (passed + failed) >>> 1;
+            if (step(concurrency)) {
+                passed = concurrency;
+            } else {
+                failed = concurrency;
+            }
+        }
+        out.println(String.format(Locale.ROOT, "=> %s : 최대 동시 접속 %d", title, passed));
+        return passed;
+    }
+
+    private boolean step(int concurrency) throws InterruptedException {
+        LoadReport report = loadGenerator.runClosed("capacity " + concurrency, concurrency, stepMillis);
+        LatencyHistogram.Snapshot snapshot = report.snapshot(endpoint);
+        long requests = snapshot.getTotalCount();
+        long errors = report.getErrors(endpoint);
+        double p99Millis = snapshot.valueAtQuantile(0.99) / 1000.0;
+        boolean pass = requests > 0 && p99Millis <= targetP99Millis && errors <= requests * maxErrorRate;
+
+        out.println(String.format(Locale.ROOT, "%11d %10.1f %9.2f %9.2f %9.2f %8d %6s",
+                concurrency, requests / report.getElapsedSeconds(), snapshot.valueAtQuantile(0.5) / 1000.0, p99Millis,
+                snapshot.getMaxMicros() / 1000.0, errors, pass ? "O" : "X"));
+        return pass;
+    }
+}
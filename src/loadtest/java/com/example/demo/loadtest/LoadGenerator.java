@@ -0,0 +1,102 @@
+package com.example.demo.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 부하 생성
+ * closed model : concurrency 개의 가상 유저가 응답을 받자마자 다음 요청을 보낸다 (서버가 느려지면 요청도 줄어든다)
+ * open model : 응답과 관계없이 초당 rate 개의 요청이 푸아송 도착으로 들어온다, 응답 시간은 원래 보내야 했던 시각부터 잰다 (coordinated omission 방지)
+ */
+public class LoadGenerator {
+
+    private final LoadTestClient client;
+    private final LoadTestEndpoint[] mix;
+
+    /*
+    @param mix API 별 비중, 예: "feed:60,profile:30,login:10"
+     */
+    public LoadGenerator(LoadTestClient client, String mix) {
+        this.client = client;
+        List<LoadTestEndpoint> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split(":");
+            LoadTestEndpoint endpoint = LoadTestEndpoint.valueOf(nameAndWeight[0].trim().toUpperCase());
+            int weight = Integer.parseInt(nameAndWeight[1].trim());
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        }
+        this.mix = weighted.toArray(new LoadTestEndpoint[0]);
+    }
+
+    public LoadReport runClosed(String title, int concurrency, long durationMillis) throws InterruptedException {
+        LoadReport report = new LoadReport(title);
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                Random random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    call(report, random, System.nanoTime());
+                }
+            }, "loadtest-closed-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        report.setElapsedNanos(System.nanoTime() - startedAt);
+        return report;
+    }
+
+    public LoadReport runOpen(String title, double ratePerSecond, long durationMillis, int maxInFlight) throws InterruptedException {
+        LoadReport report = new LoadReport(title);
+        ExecutorService executor = new ThreadPoolExecutor(0, maxInFlight, 60, TimeUnit.SECONDS, new SynchronousQueue<>());
+        Random arrivals = new Random();
+        double meanIntervalNanos = 1e9 / ratePerSecond;
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        double nextArrival = startedAt;
+        while (nextArrival < deadline) {
+            long intendedAt = (long) nextArrival;
+            long waitNanos = intendedAt - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            try {
+                executor.execute(() -> call(report, ThreadLocalRandom.current(), intendedAt));
+            } catch (RejectedExecutionException exception) {
+                report.recordDropped();
+            }
+            nextArrival += -Math.log(1 - arrivals.nextDouble()) * meanIntervalNanos;
+        }
+        executor.shutdown();
+        executor.awaitTermination(2, TimeUnit.MINUTES);
+        report.setElapsedNanos(System.nanoTime() - startedAt);
+        return report;
+    }
+
+    private void call(LoadReport report, Random random, long startedAt) {
+        LoadTestEndpoint endpoint = mix[random.nextInt(mix.length)];
+        boolean success;
+        try {
+            success = client.call(endpoint, random);
+        } catch (Exception exception) {
+            success = false;
+        }
+        report.record(endpoint, System.nanoTime() - startedAt, success);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.utils.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * API 별 처리량 / 응답 시간 분위수
+ */
+public class LoadReport {
+    private final String title;
+    private final Map<LoadTestEndpoint, LatencyHistogram> latencies = new EnumMap<>(LoadTestEndpoint.class);
+    private final Map<LoadTestEndpoint, AtomicLong> errors = new EnumMap<>(LoadTestEndpoint.class);
+    private final AtomicLong dropped = new AtomicLong();
+    private long elapsedNanos;
+
+    public LoadReport(String title) {
+        this.title = title;
+        for (LoadTestEndpoint endpoint : LoadTestEndpoint.values()) {
+            latencies.put(endpoint, new LatencyHistogram());
+            errors.put(endpoint, new AtomicLong());
+        }
+    }
+
+    public void record(LoadTestEndpoint endpoint, long latencyNanos, boolean success) {
+        latencies.get(endpoint).record(latencyNanos / 1000);
+        if (!success) {
+            errors.get(endpoint).incrementAndGet();
+        }
+    }
+
+    // open model 에서 동시 요청 수 제한에 걸려 보내지 못한 요청
+    public void recordDropped() {
+        dropped.incrementAndGet();
+    }
+
+    public LatencyHistogram.Snapshot snapshot(LoadTestEndpoint endpoint) {
+        return latencies.get(endpoint).snapshot();
+    }
+
+    public long getErrors(LoadTestEndpoint endpoint) {
+        return errors.get(endpoint).get();
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.println();
+        out.println("== " + title + String.format(Locale.ROOT, " (%.1fs) ==", seconds));
+        out.println(String.format(Locale.ROOT, "%-22s %10s %8s %10s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        for (LoadTestEndpoint endpoint : LoadTestEndpoint.values()) {
+            LatencyHistogram.Snapshot snapshot = latencies.get(endpoint).snapshot();
+            if (snapshot.getTotalCount() == 0) {
+                continue;
+            }
+            out.println(String.format(Locale.ROOT, "%-22s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                    endpoint.getLabel(), snapshot.getTotalCount(), errors.get(endpoint).get(), snapshot.getTotalCount() / seconds,
+                    snapshot.valueAtQuantile(0.5) / 1000.0, snapshot.valueAtQuantile(0.9) / 1000.0,
+                    snapshot.valueAtQuantile(0.99) / 1000.0, snapshot.valueAtQuantile(0.999) / 1000.0,
+                    snapshot.getMaxMicros() / 1000.0));
+        }
+        if (dropped.get() > 0) {
+            out.println("dropped (max-in-flight 초과) : " + dropped.get());
+        }
+    }
+}
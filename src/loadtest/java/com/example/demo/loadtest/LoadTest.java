@@ -0,0 +1,142 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.src.counter.CounterService;
+import com.example.demo.src.follow.FollowGraph;
+import com.example.demo.utils.JwtService;
+import com.example.demo.utils.PasswordHashService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트 실행 : ./gradlew loadTest --args='--loadtest.users=10000 --spring.datasource.url=jdbc:mysql://localhost:3306/loadtest'
+ * 1. 서버(DemoApplication)를 임의 포트로 띄우고
+ * 2. loadtest DB 에 테이블을 새로 만들어 팔로우 그래프 / 게시물 / 좋아요를 생성한 뒤
+ * 3. warmup 후 closed model, open model 순서로 부하를 주고 API 별 처리량과 응답 시간 분위수를 출력한다.
+ *    --loadtest.model=capacity 이면 대신 GET /posts 만 보내면서 목표 p99 를 지키는 최대 동시 접속 수를 찾는다 (CapacitySearch).
+ *    가상 스레드 비교 : 같은 인자에 --server.virtual-threads.enabled=true 를 붙여 한 번 더 실행한다 (JDK 21 이상).
+ * 설정은 모두 --loadtest.xxx 인자로 바꿀 수 있다 (기본값은 아래 getProperty 참고).
+ * Dao 의 SQL 이 MySQL 문법(IF 등)을 사용하므로 MySQL / MariaDB 에서 실행한다 (H2 에서는 로그인만 성공한다).
+ */
+public class LoadTest {
+    static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication application = new SpringApplication(DemoApplication.class);
+        Map<String, Object> defaultProperties = new HashMap<>();
+        defaultProperties.put("server.port", 0);
+        defaultProperties.put("spring.datasource.url", "jdbc:mysql://localhost:3306/loadtest?createDatabaseIfNotExist=true&rewriteBatchedStatements=true&serverTimezone=Asia/Seoul");
+        defaultProperties.put("spring.datasource.username", "root");
+        defaultProperties.put("spring.datasource.password", "");
+        defaultProperties.put("spring.jpa.hibernate.ddl-auto", "none");
+        // 데이터 생성 직후 직접 보정하므로, 측정 중에는 카운트 보정이 돌지 않게 한다
+        defaultProperties.put("counter.reconcile.initial-delay-ms", TimeUnit.DAYS.toMillis(1));
+        // 부하를 만드는 유저 수가 적어서 유저별 요청 수 제한에 걸리므로 끈다 (제한 자체를 측정할 때는 --rate-limit.enabled=true)
+        defaultProperties.put("rate-limit.enabled", false);
+        application.setDefaultProperties(defaultProperties);
+
+        ConfigurableApplicationContext context = application.run(args);
+        try {
+            run(context);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context) throws Exception {
+        Environment environment = context.getEnvironment();
+        int users = environment.getProperty("loadtest.users", Integer.class, 10_000);
+        double zipfExponent = environment.getProperty("loadtest.zipf-exponent", Double.class, 1.0);
+        String password = environment.getProperty("loadtest.password", "password1234");
+        int concurrency = environment.getProperty("loadtest.concurrency", Integer.class, 32);
+        double rate = environment.getProperty("loadtest.rate", Double.class, 500.0);
+        int maxInFlight = environment.getProperty("loadtest.max-in-flight", Integer.class, 1_000);
+        long warmupMillis = TimeUnit.SECONDS.toMillis(environment.getProperty("loadtest.warmup-seconds", Long.class, 10L));
+        long durationMillis = TimeUnit.SECONDS.toMillis(environment.getProperty("loadtest.duration-seconds", Long.class, 60L));
+        String model = environment.getProperty("loadtest.model", "both");
+        String mix = environment.getProperty("loadtest.mix", "feed:60,profile:30,login:10");
+        int maxConcurrency = environment.getProperty("loadtest.capacity.max-concurrency", Integer.class, 4_096);
+
+        // HttpURLConnection 의 keep-alive 연결 수 (기본 5개)
+        int maxConnections = "capacity".equals(model) ? maxConcurrency : Math.max(concurrency, maxInFlight);
+        System.setProperty("http.maxConnections", String.valueOf(maxConnections));
+
+        if (environment.getProperty("loadtest.generate", Boolean.class, true)) {
+            DataSource dataSource = context.getBean(DataSource.class);
+            LoadTestSchema.recreate(dataSource);
+
+            String passwordHash = context.getBean(PasswordHashService.class).encrypt(password).join();
+            long startedAt = System.nanoTime();
+            SocialGraphGenerator.Result result = new SocialGraphGenerator(new JdbcTemplate(dataSource), environment.getProperty("loadtest.seed", Long.class, 42L))
+                    .users(users)
+                    .postsPerUser(environment.getProperty("loadtest.posts-per-user", Double.class, 10.0))
+                    .followsPerUser(environment.getProperty("loadtest.follows-per-user", Double.class, 50.0))
+                    .likesPerPost(environment.getProperty("loadtest.likes-per-post", Double.class, 5.0))
+                    .commentsPerPost(environment.getProperty("loadtest.comments-per-post", Double.class, 1.0))
+                    .zipfExponent(zipfExponent)
+                    .generate(passwordHash);
+            context.getBean(CounterService.class).reconcileCounts();
+            // 서버 시작 시 읽은 팔로우 관계는 데이터를 만들기 전의 것이므로 다시 읽는다
+            context.getBean(FollowGraph.class).rebuild();
+            logger.info("데이터 생성 완료 ({}s) : {}", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt), result);
+        }
+
+        JwtService jwtService = context.getBean(JwtService.class);
+        String[] accessTokens = new String[users + 1];
+        for (int userIdx = 1; userIdx <= users; userIdx++) {
+            accessTokens[userIdx] = jwtService.createJwt(userIdx);
+        }
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        LoadTestClient client = new LoadTestClient("http://localhost:" + port, accessTokens, password, new ZipfSampler(users, zipfExponent));
+        if ("capacity".equals(model)) {
+            runCapacitySearch(environment, client, concurrency, warmupMillis, maxConcurrency);
+            return;
+        }
+        LoadGenerator loadGenerator = new LoadGenerator(client, mix);
+
+        logger.info("warmup {}s", TimeUnit.MILLISECONDS.toSeconds(warmupMillis));
+        loadGenerator.runClosed("warmup", concurrency, warmupMillis);
+
+        if (!"open".equals(model)) {
+            loadGenerator.runClosed("closed model, concurrency=" + concurrency + ", mix=" + mix, concurrency, durationMillis)
+                    .print(System.out);
+        }
+        if (!"closed".equals(model)) {
+            loadGenerator.runOpen("open model, rate=" + rate + "/s, mix=" + mix, rate, durationMillis, maxInFlight)
+                    .print(System.out);
+        }
+    }
+
+    private static void runCapacitySearch(Environment environment, LoadTestClient client, int concurrency, long warmupMillis,
+                                          int maxConcurrency) throws InterruptedException {
+        LoadGenerator loadGenerator = new LoadGenerator(client, "feed:100");
+        logger.info("warmup {}s", TimeUnit.MILLISECONDS.toSeconds(warmupMillis));
+        loadGenerator.runClosed("warmup", concurrency, warmupMillis);
+
+        String poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10");
+        String mode;
+        if (environment.getProperty("server.virtual-threads.enabled", Boolean.class, false)) {
+            mode = "virtual threads, pool=" + environment.getProperty("server.virtual-threads.hikari.maximum-pool-size", poolSize);
+        } else {
+            mode = "tomcat threads=" + environment.getProperty("server.tomcat.threads.max", "200") + ", pool=" + poolSize;
+        }
+        mode += ", java " + System.getProperty("java.version");
+        new CapacitySearch(loadGenerator, LoadTestEndpoint.FEED,
+                environment.getProperty("loadtest.capacity.target-p99-ms", Double.class, 100.0),
+                environment.getProperty("loadtest.capacity.max-error-rate", Double.class, 0.01),
+                TimeUnit.SECONDS.toMillis(environment.getProperty("loadtest.capacity.step-seconds", Long.class, 15L)),
+                System.out)
+                .run(mode, environment.getProperty("loadtest.capacity.start-concurrency", Integer.class, 8), maxConcurrency);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.utils.JwtService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * 실제 API 를 HTTP 로 호출 (keep-alive 연결 재사용, 최대 연결 수는 http.maxConnections 시스템 속성)
+ * 요청하는 유저는 고르게, 프로필 조회 대상은 인기 유저일수록 많이 뽑는다.
+ */
+public class LoadTestClient {
+    private static final String SUCCESS = "\"isSuccess\":true";
+
+    private final String baseUrl;
+    private final String[] accessTokens; // userIdx -> JWT
+    private final String password;
+    private final ZipfSampler popularUsers;
+
+    public LoadTestClient(String baseUrl, String[] accessTokens, String password, ZipfSampler popularUsers) {
+        this.baseUrl = baseUrl;
+        this.accessTokens = accessTokens;
+        this.password = password;
+        this.popularUsers = popularUsers;
+    }
+
+    /*
+    API 한 번 호출
+    @return HTTP 200 이고 BaseResponse.isSuccess 가 true 이면 true
+     */
+    public boolean call(LoadTestEndpoint endpoint, Random random) throws IOException {
+        int userIdx = 1 + random.nextInt(accessTokens.length - 1);
+        switch (endpoint) {
+            case FEED:
+                return request("GET", "/posts?userIdx=" + userIdx + "&limit=20", accessTokens[userIdx], null);
+            case PROFILE:
+                return request("GET", "/users/" + popularUsers.sample(random), accessTokens[userIdx], null);
+            case LOGIN:
+                return request("POST", "/auth/login", null,
+                        "{\"email\":\"" + SocialGraphGenerator.emailOf(userIdx) + "\",\"pwd\":\"" + password + "\"}");
+            case WRITE:
+                return request("POST", "/posts", accessTokens[userIdx],
+                        "{\"userIdx\":" + userIdx + ",\"content\":\"부하 테스트 새 게시물\",\"postImgUrls\":[{\"imgUrl\":\"https://cdn.loadtest.com/new.jpg\"}]}");
+            default:
+                throw new IllegalArgumentException(endpoint.name());
+        }
+    }
+
+    private boolean request(String method, String path, String accessToken, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setConnectTimeout(5_000);
+        connection.setReadTimeout(60_000);
+        if (accessToken != null) {
+            connection.setRequestProperty(JwtService.JWT_HEADER, accessToken);
+        }
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        int status = connection.getResponseCode();
+        InputStream inputStream = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        if (inputStream == null) {
+            return false;
+        }
+        // 응답을 끝까지 읽어야 연결이 재사용된다
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try (InputStream in = inputStream) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                response.write(buffer, 0, read);
+            }
+        }
+        return status == 200 && response.toString("UTF-8").contains(SUCCESS);
+    }
+}
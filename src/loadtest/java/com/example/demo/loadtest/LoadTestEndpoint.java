@@ -0,0 +1,21 @@
+package com.example.demo.loadtest;
+
+/**
+ * 부하를 줄 API
+ */
+public enum LoadTestEndpoint {
+    FEED("GET /posts"),
+    PROFILE("GET /users/{userIdx}"),
+    LOGIN("POST /auth/login"),
+    WRITE("POST /posts");
+
+    private final String label;
+
+    LoadTestEndpoint(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.loadtest;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * 부하 테스트용 테이블 생성 (loadtest/schema.sql + db/counter.sql)
+ * 테이블을 지우고 다시 만들기 때문에 DB 이름에 loadtest 가 들어간 경우에만 실행한다.
+ */
+public class LoadTestSchema {
+
+    private LoadTestSchema() {
+    }
+
+    public static void recreate(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String catalog = connection.getCatalog();
+            if (catalog == null || !catalog.toLowerCase(Locale.ROOT).contains("loadtest")) {
+                throw new IllegalStateException("DB 이름에 loadtest 가 들어가야 합니다 (현재 : " + catalog + ")");
+            }
+        }
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("loadtest/schema.sql"),
+                new ClassPathResource("db/counter.sql"));
+        populator.setSqlScriptEncoding("UTF-8");
+        populator.execute(dataSource);
+    }
+}
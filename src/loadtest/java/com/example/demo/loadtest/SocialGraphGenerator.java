@@ -0,0 +1,250 @@
+package com.example.demo.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트용 데이터 생성
+ * 팔로워 수 / 게시물 좋아요 수는 Zipf 분포(소수의 인기 유저에 몰림), 유저별 팔로우 / 게시물 수는 파레토 분포를 따른다.
+ * userIdx 는 1 부터, 번호가 작을수록 인기 유저이며 비밀번호는 모두 같다.
+ */
+public class SocialGraphGenerator {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    private int users;
+    private double postsPerUser;
+    private double followsPerUser;
+    private double likesPerPost;
+    private double commentsPerPost;
+    private double zipfExponent;
+
+    public SocialGraphGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    public SocialGraphGenerator users(int users) {
+        this.users = users;
+        return this;
+    }
+
+    public SocialGraphGenerator postsPerUser(double postsPerUser) {
+        this.postsPerUser = postsPerUser;
+        return this;
+    }
+
+    public SocialGraphGenerator followsPerUser(double followsPerUser) {
+        this.followsPerUser = followsPerUser;
+        return this;
+    }
+
+    public SocialGraphGenerator likesPerPost(double likesPerPost) {
+        this.likesPerPost = likesPerPost;
+        return this;
+    }
+
+    public SocialGraphGenerator commentsPerPost(double commentsPerPost) {
+        this.commentsPerPost = commentsPerPost;
+        return this;
+    }
+
+    public SocialGraphGenerator zipfExponent(double zipfExponent) {
+        this.zipfExponent = zipfExponent;
+        return this;
+    }
+
+    /*
+    데이터 생성 후 테이블별 행 수
+    @param passwordHash 모든 유저가 사용할 비밀번호 해시 (BCrypt 를 유저 수만큼 계산하지 않도록)
+     */
+    public Result generate(String passwordHash) {
+        ZipfSampler popularUsers = new ZipfSampler(users, zipfExponent);
+
+        insertUsers(passwordHash);
+        int[][] postIdxsByUser = insertPosts();
+        int posts = Arrays.stream(postIdxsByUser).mapToInt(postIdxs -> postIdxs.length).sum();
+        int follows = insertFollows(popularUsers);
+        int likes = insertLikes(popularUsers, postIdxsByUser, (int) Math.round(posts * likesPerPost));
+        int comments = insertComments(popularUsers, postIdxsByUser, (int) Math.round(posts * commentsPerPost));
+        return new Result(users, posts, follows, likes, comments);
+    }
+
+    public static String emailOf(int userIdx) {
+        return "user" + userIdx + "@loadtest.com";
+    }
+
+    private void insertUsers(String passwordHash) {
+        String insertUserQuery = "INSERT INTO User(userIdx, name, nickName, birth, email, pwd, profileImgUrl, introduce, website) VALUES (?,?,?,?,?,?,?,?,?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int userIdx = 1; userIdx <= users; userIdx++) {
+            batch.add(new Object[]{userIdx, "user" + userIdx, "nick" + userIdx, "1995-01-01", emailOf(userIdx), passwordHash,
+                    "https://cdn.loadtest.com/profiles/" + userIdx + ".jpg", "안녕하세요 user" + userIdx + " 입니다", "https://loadtest.com/" + userIdx});
+            batch = flush(insertUserQuery, batch);
+        }
+        flushAll(insertUserQuery, batch);
+        logger.info("User {} rows", users);
+    }
+
+    // postIdx 가 클수록 최신 게시물이 되도록 작성 시각 순으로 번호를 매긴다
+    private int[][] insertPosts() {
+        List<Integer> authors = new ArrayList<>();
+        int[] postCounts = new int[users + 1];
+        for (int userIdx = 1; userIdx <= users; userIdx++) {
+            postCounts[userIdx] = ZipfSampler.pareto(random, postsPerUser, 10_000);
+            for (int i = 0; i < postCounts[userIdx]; i++) {
+                authors.add(userIdx);
+            }
+        }
+        Collections.shuffle(authors, random);
+
+        int posts = authors.size();
+        long now = System.currentTimeMillis();
+        long[] writtenAt = new long[posts];
+        for (int i = 0; i < posts; i++) {
+            writtenAt[i] = now - (long) (random.nextDouble() * TimeUnit.DAYS.toMillis(400));
+        }
+        Arrays.sort(writtenAt);
+
+        int[][] postIdxsByUser = new int[users + 1][];
+        int[] filled = new int[users + 1];
+        for (int userIdx = 0; userIdx <= users; userIdx++) {
+            postIdxsByUser[userIdx] = new int[postCounts[userIdx]];
+        }
+
+        String insertPostQuery = "INSERT INTO Post(postIdx, userIdx, content, createdAt, updatedAt) VALUES (?,?,?,?,?)";
+        String insertPostImgQuery = "INSERT INTO PostImgUrl(postIdx, imgUrl) VALUES (?,?)";
+        List<Object[]> postBatch = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> imgBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < posts; i++) {
+            int postIdx = i + 1;
+            int userIdx = authors.get(i);
+            postIdxsByUser[userIdx][filled[userIdx]++] = postIdx;
+
+            Timestamp timestamp = new Timestamp(writtenAt[i]);
+            postBatch.add(new Object[]{postIdx, userIdx, "부하 테스트 게시물 " + postIdx + " #loadtest", timestamp, timestamp});
+            int imgs = 1 + random.nextInt(3);
+            for (int img = 1; img <= imgs; img++) {
+                imgBatch.add(new Object[]{postIdx, "https://cdn.loadtest.com/posts/" + postIdx + "/" + img + ".jpg"});
+            }
+            postBatch = flush(insertPostQuery, postBatch);
+            imgBatch = flush(insertPostImgQuery, imgBatch);
+        }
+        flushAll(insertPostQuery, postBatch);
+        flushAll(insertPostImgQuery, imgBatch);
+        logger.info("Post {} rows", posts);
+        return postIdxsByUser;
+    }
+
+    // 팔로우 할 유저는 인기 유저일수록 많이 뽑히므로 팔로워 수가 멱법칙 분포가 된다
+    private int insertFollows(ZipfSampler popularUsers) {
+        String insertFollowQuery = "INSERT INTO Follow(followerIdx, followeeIdx) VALUES (?,?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int follows = 0;
+        for (int followerIdx = 1; followerIdx <= users; followerIdx++) {
+            int degree = ZipfSampler.pareto(random, followsPerUser, users - 1);
+            Set<Integer> followees = new HashSet<>();
+            for (int attempt = 0; followees.size() < degree && attempt < degree * 4; attempt++) {
+                int followeeIdx = popularUsers.sample(random);
+                if (followeeIdx != followerIdx && followees.add(followeeIdx)) {
+                    batch.add(new Object[]{followerIdx, followeeIdx});
+                    batch = flush(insertFollowQuery, batch);
+                }
+            }
+            follows += followees.size();
+        }
+        flushAll(insertFollowQuery, batch);
+        logger.info("Follow {} rows", follows);
+        return follows;
+    }
+
+    private int insertLikes(ZipfSampler popularUsers, int[][] postIdxsByUser, int likes) {
+        String insertLikeQuery = "INSERT INTO PostLike(userIdx, postIdx) VALUES (?,?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        Set<Long> liked = new HashSet<>();
+        for (int attempt = 0; liked.size() < likes && attempt < likes * 4; attempt++) {
+            int postIdx = popularPost(popularUsers, postIdxsByUser);
+            int userIdx = 1 + random.nextInt(users);
+            if (postIdx > 0 && liked.add(((long) userIdx << 32) | postIdx)) {
+                batch.add(new Object[]{userIdx, postIdx});
+                batch = flush(insertLikeQuery, batch);
+            }
+        }
+        flushAll(insertLikeQuery, batch);
+        logger.info("PostLike {} rows", liked.size());
+        return liked.size();
+    }
+
+    private int insertComments(ZipfSampler popularUsers, int[][] postIdxsByUser, int comments) {
+        String insertCommentQuery = "INSERT INTO Comment(postIdx, userIdx, content) VALUES (?,?,?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int inserted = 0;
+        for (int attempt = 0; inserted < comments && attempt < comments * 4; attempt++) {
+            int postIdx = popularPost(popularUsers, postIdxsByUser);
+            if (postIdx > 0) {
+                batch.add(new Object[]{postIdx, 1 + random.nextInt(users), "댓글 " + attempt});
+                batch = flush(insertCommentQuery, batch);
+                inserted++;
+            }
+        }
+        flushAll(insertCommentQuery, batch);
+        logger.info("Comment {} rows", inserted);
+        return inserted;
+    }
+
+    // 인기 유저의 게시물 중 하나, 게시물이 없는 유저가 뽑히면 0
+    private int popularPost(ZipfSampler popularUsers, int[][] postIdxsByUser) {
+        int[] postIdxs = postIdxsByUser[popularUsers.sample(random)];
+        return postIdxs.length == 0 ? 0 : postIdxs[random.nextInt(postIdxs.length)];
+    }
+
+    private List<Object[]> flush(String query, List<Object[]> batch) {
+        if (batch.size() < BATCH_SIZE) {
+            return batch;
+        }
+        jdbcTemplate.batchUpdate(query, batch);
+        return new ArrayList<>(BATCH_SIZE);
+    }
+
+    private void flushAll(String query, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(query, batch);
+        }
+    }
+
+    public static class Result {
+        private final int users;
+        private final int posts;
+        private final int follows;
+        private final int likes;
+        private final int comments;
+
+        Result(int users, int posts, int follows, int likes, int comments) {
+            this.users = users;
+            this.posts = posts;
+            this.follows = follows;
+            this.likes = likes;
+            this.comments = comments;
+        }
+
+        @Override
+        public String toString() {
+            return "users=" + users + ", posts=" + posts + ", follows=" + follows + ", likes=" + likes + ", comments=" + comments;
+        }
+    }
+}
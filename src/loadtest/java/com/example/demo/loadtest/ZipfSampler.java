@@ -0,0 +1,35 @@
+package com.example.demo.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 1 ~ n 중 하나를 P(k) ∝ 1 / k^exponent 로 뽑는다 (작은 번호일수록 인기 유저 / 게시물)
+ */
+public class ZipfSampler {
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1 / Math.pow(k, exponent);
+            cumulative[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    public int sample(Random random) {
+        int pos = Arrays.binarySearch(cumulative, random.nextDouble());
+        return (pos >= 0 ? pos : -pos - 1) + 1;
+    }
+
+    // 평균이 mean 인 파레토 분포 (alpha = 2) 에서 뽑은 개수, 대부분은 평균보다 작고 일부가 매우 크다
+    public static int pareto(Random random, double mean, int max) {
+        double minimum = mean / 2;
+        double value = minimum / Math.sqrt(1 - random.nextDouble());
+        return (int) Math.min(max, Math.round(value));
+    }
+}
@@ -0,0 +1,81 @@
+-- 부하 테스트용 스키마 (Dao 의 SQL 이 사용하는 테이블 / 컬럼 기준)
+-- LoadTestSchema 가 기존 테이블을 지우고 다시 만든다. 운영 DB 에서 실행하지 말 것.
+-- UserCount / PostCount 는 db/counter.sql 에서 만든다.
+
+DROP TABLE IF EXISTS PostCount;
+DROP TABLE IF EXISTS UserCount;
+DROP TABLE IF EXISTS Follow;
+DROP TABLE IF EXISTS Comment;
+DROP TABLE IF EXISTS PostLike;
+DROP TABLE IF EXISTS PostImgUrl;
+DROP TABLE IF EXISTS Post;
+DROP TABLE IF EXISTS User;
+
+CREATE TABLE User (
+    userIdx       INT          NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    name          VARCHAR(45)  NOT NULL,
+    nickName      VARCHAR(45)  NOT NULL,
+    birth         VARCHAR(20)  NULL,
+    email         VARCHAR(100) NOT NULL,
+    pwd           VARCHAR(100) NOT NULL,
+    profileImgUrl VARCHAR(255) NULL,
+    introduce     VARCHAR(255) NULL,
+    website       VARCHAR(255) NULL,
+    status        VARCHAR(10)  NOT NULL DEFAULT 'ACTIVE',
+    createdAt     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updatedAt     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE UNIQUE INDEX User_email ON User (email);
+
+CREATE TABLE Post (
+    postIdx   INT          NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    userIdx   INT          NOT NULL,
+    content   VARCHAR(450) NULL,
+    status    VARCHAR(10)  NOT NULL DEFAULT 'ACTIVE',
+    createdAt TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updatedAt TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX Post_userIdx ON Post (userIdx, postIdx);
+
+CREATE TABLE PostImgUrl (
+    postImgUrlIdx INT          NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    postIdx       INT          NOT NULL,
+    imgUrl        VARCHAR(255) NOT NULL,
+    status        VARCHAR(10)  NOT NULL DEFAULT 'ACTIVE',
+    createdAt     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updatedAt     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX PostImgUrl_postIdx ON PostImgUrl (postIdx);
+
+CREATE TABLE PostLike (
+    postLikeIdx INT         NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    userIdx     INT         NOT NULL,
+    postIdx     INT         NOT NULL,
+    status      VARCHAR(10) NOT NULL DEFAULT 'ACTIVE',
+    createdAt   TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updatedAt   TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE UNIQUE INDEX PostLike_userIdx_postIdx ON PostLike (userIdx, postIdx);
+CREATE INDEX PostLike_postIdx ON PostLike (postIdx);
+
+CREATE TABLE Comment (
+    commentIdx INT          NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    postIdx    INT          NOT NULL,
+    userIdx    INT          NOT NULL,
+    content    VARCHAR(255) NOT NULL,
+    status     VARCHAR(10)  NOT NULL DEFAULT 'ACTIVE',
+    createdAt  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updatedAt  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX Comment_postIdx ON Comment (postIdx);
+
+CREATE TABLE Follow (
+    followIdx   INT         NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    followerIdx INT         NOT NULL,
+    followeeIdx INT         NOT NULL,
+    status      VARCHAR(10) NOT NULL DEFAULT 'ACTIVE',
+    createdAt   TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updatedAt   TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE UNIQUE INDEX Follow_followerIdx_followeeIdx ON Follow (followerIdx, followeeIdx);
+CREATE INDEX Follow_followeeIdx ON Follow (followeeIdx);
@@ -4,9 +4,24 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
 @Getter
 @Setter
 @AllArgsConstructor
 public class BaseException extends Exception {
     private BaseResponseStatus status;
+
+    // 비동기 처리(CompletableFuture) 중 발생한 예외의 응답 상태
+    public static BaseResponseStatus statusOf(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof BaseException) {
+            return ((BaseException) cause).getStatus();
+        }
+        return BaseResponseStatus.SERVER_ERROR;
+    }
 }
@@ -21,6 +21,7 @@ public enum BaseResponseStatus {
     EMPTY_JWT(false, 2001, "JWT를 입력해주세요."),
     INVALID_JWT(false, 2002, "유효하지 않은 JWT입니다."),
     INVALID_USER_JWT(false,2003,"권한이 없는 유저의 접근입니다."),
+    TOO_MANY_REQUESTS(false, 2004, "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
 
     // users
     USERS_EMPTY_USER_ID(false, 2010, "유저 아이디 값을 확인해주세요."),
@@ -33,6 +34,8 @@ public enum BaseResponseStatus {
     POST_POSTS_INVALID_CONTENTS(false, 2018, "내용의 글자 수를 확인해주세요."),
     POST_POSTS_EMPTY_IMGURL(false, 2019, "게시물의 이미지를 등록해주세요."),
     POSTS_EMPTY_POST_ID(false, 2020, "게시물 아이디 값을 확인해주세요."),
+    POSTS_INVALID_LIMIT(false, 2021, "조회할 게시물 개수를 확인해주세요."),
+    POSTS_INVALID_CURSOR(false, 2022, "커서 값을 확인해주세요."),
 
     POST_USERS_EMPTY_PASSWORD(false, 2030, "비밀번호를 입력해주세요."),
     POST_USERS_EMPTY_NAME(false, 2031, "이름을 입력해주세요."),
@@ -40,6 +43,9 @@ public enum BaseResponseStatus {
     POST_USERS_EMPTY_NICKNAME(false, 2033, "닉네임을 입력해주세요."),
     POST_USERS_INVALID_PASSWORD(false, 2034, "비밀번호 형식을 확인해주세요."),
 
+    // [POST, DELETE] /follows/{followeeIdx}
+    FOLLOWS_SELF(false, 2040, "자기 자신은 팔로우 할 수 없습니다."),
+
 
 
     /**
@@ -66,7 +72,11 @@ public enum BaseResponseStatus {
     MODIFY_FAIL_USERNAME(false,4014,"유저네임 수정 실패"),
 
     PASSWORD_ENCRYPTION_ERROR(false, 4011, "비밀번호 암호화에 실패하였습니다."),
-    PASSWORD_DECRYPTION_ERROR(false, 4012, "비밀번호 복호화에 실패하였습니다.");
+    PASSWORD_DECRYPTION_ERROR(false, 4012, "비밀번호 복호화에 실패하였습니다."),
+    PASSWORD_HASHING_BUSY(false, 4013, "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."),
+
+    //[POST, DELETE] /posts/{postIdx}/likes
+    POSTS_LIKE_BUSY(false, 4015, "좋아요 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
 
 
     // 5000 : 필요시 만들어서 쓰세요
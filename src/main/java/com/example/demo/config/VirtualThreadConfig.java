@@ -0,0 +1,72 @@
+package com.example.demo.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 모드 (server.virtual-threads.enabled=true, JDK 21 이상)
+ * 요청 처리(Tomcat)와 비동기 응답(StreamingResponseBody)을 요청마다 새 가상 스레드에서 실행해서,
+ * Dao 가 JDBC 응답을 기다리는 동안 플랫폼 스레드를 붙잡지 않게 한다.
+ * Tomcat 스레드 수(server.tomcat.threads.max)가 더 이상 DB 동시 사용량을 제한하지 않으므로
+ * primary 커넥션 풀은 server.virtual-threads.hikari.* 로 따로 정한다 (DataSourceConfig 참고).
+ * 빌드는 Java 8 이므로 가상 스레드 API 는 리플렉션으로 찾고, 없는 JDK 에서는 기존 스레드 풀로 동작한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer virtualThreadAsyncConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                if (executor != null) {
+                    configurer.setTaskExecutor(new TaskExecutorAdapter(executor));
+                }
+            }
+        };
+    }
+
+    // Tomcat 은 외부에서 넣어 준 executor 를 종료하지 않는다
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            ExecutorService virtualThreadExecutor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            logger.info("가상 스레드 모드로 요청을 처리합니다");
+            return virtualThreadExecutor;
+        } catch (ReflectiveOperationException exception) {
+            logger.warn("가상 스레드를 지원하지 않는 JDK({}) 이므로 Tomcat 스레드 풀로 요청을 처리합니다", System.getProperty("java.version"));
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * primary(spring.datasource) + 복제 DB(spring.datasource.routing.replicas) 설정
+ * Dao 들이 주입 받는 DataSource 는 RoutingDataSource 이며, 연결 대상은 DataSourceRoutingAspect 가 정한다.
+ */
+@Configuration
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(RoutingDataSourceProperties routingDataSourceProperties) {
+        List<ReplicaPool.Replica> replicas = new ArrayList<>();
+        for (RoutingDataSourceProperties.Replica replicaProperties : routingDataSourceProperties.getReplicas()) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(replicaProperties.getUrl());
+            dataSource.setUsername(replicaProperties.getUsername());
+            dataSource.setPassword(replicaProperties.getPassword());
+            dataSource.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(replicaProperties.getConnectionTimeoutMs());
+            dataSource.setReadOnly(true);
+            // 복제 DB 가 내려가 있어도 서버는 뜨도록 시작 시 연결을 확인하지 않는다
+            dataSource.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaPool.Replica(name, dataSource));
+        }
+        return new ReplicaPool(replicas, routingDataSourceProperties.getHealthCheckTimeoutSeconds());
+    }
+
+    // primary 를 별도 DataSource 빈으로 두면 DataSource 가 두 개가 되어 자동 설정(초기화 스크립트, JPA)과 순환 참조가 생기므로 여기서 직접 만든다
+    @Bean(destroyMethod = "close")
+    @Primary
+    public RoutingDataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaPool replicaPool, Environment environment) {
+        HikariDataSource primaryDataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primaryDataSource));
+        // 가상 스레드 모드에서는 Tomcat 스레드 수 대신 풀 크기가 DB 동시 사용량을 정하므로 값을 따로 덮어쓸 수 있게 한다
+        // 예: server.virtual-threads.hikari.maximum-pool-size=50, server.virtual-threads.hikari.connection-timeout=1000
+        if (environment.getProperty("server.virtual-threads.enabled", Boolean.class, false)) {
+            Binder.get(environment).bind("server.virtual-threads.hikari", Bindable.ofInstance(primaryDataSource));
+        }
+        return new RoutingDataSource(primaryDataSource, replicaPool);
+    }
+
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow(RoutingDataSourceProperties routingDataSourceProperties) {
+        return new ReadYourWritesWindow(routingDataSourceProperties.getReadYourWritesMs());
+    }
+
+    @Bean
+    public DataSourceRoutingAspect dataSourceRoutingAspect(ReadYourWritesWindow readYourWritesWindow) {
+        return new DataSourceRoutingAspect(readYourWritesWindow);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReplicaPool replicaPool) {
+        return new ReplicaHealthChecker(replicaPool);
+    }
+
+    // 복제 DB 상태 주기적 확인
+    public static class ReplicaHealthChecker {
+        private final ReplicaPool replicaPool;
+
+        public ReplicaHealthChecker(ReplicaPool replicaPool) {
+            this.replicaPool = replicaPool;
+        }
+
+        @Scheduled(fixedDelayString = "${spring.datasource.routing.health-check-interval-ms:5000}")
+        public void checkHealth() {
+            replicaPool.checkHealth();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.config.datasource;
+
+/**
+ * 현재 스레드의 DB 연결 대상
+ * Provider(Read) 는 REPLICA, Service(CUD) 는 PRIMARY 로 정해지며, 바깥에서 정해진 값이 있으면 그대로 따른다.
+ * 정해지지 않은 경우(스케줄러, 비동기 작업 등)는 PRIMARY 를 사용한다.
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA;
+
+    private static final ThreadLocal<DataSourceRoute> current = new ThreadLocal<>();
+
+    // @return 현재 스레드의 연결 대상, 정해지지 않았으면 null
+    public static DataSourceRoute current() {
+        return current.get();
+    }
+
+    // 연결 대상을 바꾸고 이전 값을 돌려준다 (restore 에 넘겨서 되돌림)
+    public static DataSourceRoute enter(DataSourceRoute route) {
+        DataSourceRoute previous = current.get();
+        current.set(route);
+        return previous;
+    }
+
+    public static void restore(DataSourceRoute previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+}
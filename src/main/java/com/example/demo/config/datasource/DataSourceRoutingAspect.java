@@ -0,0 +1,70 @@
+package com.example.demo.config.datasource;
+
+import com.example.demo.utils.JwtService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Provider(Read) 호출은 복제 DB, Service(CUD) 호출은 primary 로 연결 대상을 정한다.
+ * 트랜잭션이 연결을 가져가기 전에 정해야 하므로 @Transactional 보다 먼저 실행한다 (DaoConcurrencyLimitAspect 다음).
+ * 이미 정해진 경우(Service 안에서 Provider 호출 등)는 바깥의 연결 대상을 그대로 사용한다.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class DataSourceRoutingAspect {
+
+    private final ReadYourWritesWindow readYourWritesWindow;
+
+    public DataSourceRoutingAspect(ReadYourWritesWindow readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    @Around("execution(public * com.example.demo.src..*Provider.*(..))")
+    public Object routeRead(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (DataSourceRoute.current() != null) {
+            return joinPoint.proceed();
+        }
+
+        Integer userIdx = currentUserIdx();
+        boolean recentlyWrote = userIdx != null && readYourWritesWindow.isActive(userIdx);
+        DataSourceRoute previous = DataSourceRoute.enter(recentlyWrote ? DataSourceRoute.PRIMARY : DataSourceRoute.REPLICA);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRoute.restore(previous);
+        }
+    }
+
+    @Around("execution(public * com.example.demo.src..*Service.*(..))")
+    public Object routeWrite(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (DataSourceRoute.current() == DataSourceRoute.PRIMARY) {
+            return joinPoint.proceed();
+        }
+
+        DataSourceRoute previous = DataSourceRoute.enter(DataSourceRoute.PRIMARY);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRoute.restore(previous);
+            Integer userIdx = currentUserIdx();
+            if (userIdx != null) {
+                readYourWritesWindow.markWrite(userIdx);
+            }
+        }
+    }
+
+    // JwtAuthenticationFilter 에서 확인한 userIdx, 요청 밖이거나 JWT 가 없으면 null
+    private static Integer currentUserIdx() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        Object userIdx = requestAttributes.getAttribute(JwtService.USER_IDX_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return userIdx instanceof Integer ? (Integer) userIdx : null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 최근에 쓰기를 한 유저 목록
+ * 복제 지연 때문에 방금 쓴 게시물 / 수정한 정보가 안 보이지 않도록, 쓰기 이후 일정 시간 동안은 해당 유저의 조회도 primary 로 보낸다.
+ */
+public class ReadYourWritesWindow {
+
+    private final Cache<Integer, Boolean> recentWriters;
+
+    public ReadYourWritesWindow(long windowMs) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(windowMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public void markWrite(int userIdx) {
+        recentWriters.put(userIdx, Boolean.TRUE);
+    }
+
+    public boolean isActive(int userIdx) {
+        return recentWriters.getIfPresent(userIdx) != null;
+    }
+}
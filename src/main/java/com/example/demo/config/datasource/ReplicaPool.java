@@ -0,0 +1,102 @@
+package com.example.demo.config.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 복제 DB 목록, 정상인 복제 DB 를 돌아가면서(round-robin) 고른다.
+ * 연결에 실패한 복제 DB 는 바로 제외하고, 주기적인 상태 확인(checkHealth)에서 다시 연결되면 포함한다.
+ */
+public class ReplicaPool {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final List<Replica> replicas;
+    private final int healthCheckTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<Replica> replicas, int healthCheckTimeoutSeconds) {
+        this.replicas = replicas;
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+    }
+
+    /*
+    정상인 복제 DB 하나 선택
+    @return Replica, 모두 비정상이거나 없으면 null (primary 사용)
+     */
+    public Replica select() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = next.getAndIncrement() & Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public void markDown(Replica replica, Exception exception) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            logger.warn("복제 DB 제외 : {}", replica.name, exception);
+        }
+    }
+
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (Exception exception) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                replica.healthy = healthy;
+                logger.warn("복제 DB 상태 변경 : {} {}", replica.name, healthy ? "UP" : "DOWN");
+            }
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) replica.dataSource).close();
+            }
+        }
+    }
+
+    public static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.config.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSourceRoute 에 따라 primary 또는 복제 DB 의 연결을 돌려주는 DataSource
+ * 복제 DB 연결에 실패하면 해당 복제 DB 를 제외하고 primary 로 연결한다.
+ */
+public class RoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaPool replicaPool;
+
+    public RoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (DataSourceRoute.current() != DataSourceRoute.REPLICA) {
+            return primary.getConnection();
+        }
+
+        ReplicaPool.Replica replica = replicaPool.select();
+        while (replica != null) {
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException exception) {
+                replicaPool.markDown(replica, exception);
+                replica = replicaPool.select();
+            }
+        }
+        return primary.getConnection();
+    }
+
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable) {
+            ((AutoCloseable) primary).close();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 전용 복제 DB 설정
+ * spring.datasource.routing.replicas[0].url=jdbc:mysql://replica-1:3306/...
+ * replicas 가 비어 있으면 모든 요청이 primary(spring.datasource) 로 간다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("spring.datasource.routing")
+public class RoutingDataSourceProperties {
+    private List<Replica> replicas = new ArrayList<>();
+    // 복제 DB 상태 확인 주기
+    private long healthCheckIntervalMs = 5000;
+    private int healthCheckTimeoutSeconds = 2;
+    // 쓰기 이후 해당 유저의 조회를 primary 로 보내는 시간 (복제 지연 동안 자기가 쓴 내용이 안 보이는 문제 방지)
+    private long readYourWritesMs = 3000;
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        // 복제 DB 연결이 안 될 때 오래 기다리지 않고 primary 로 넘어가도록 짧게 둔다
+        private long connectionTimeoutMs = 1000;
+    }
+}
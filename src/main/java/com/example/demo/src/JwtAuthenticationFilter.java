@@ -0,0 +1,38 @@
+package com.example.demo.src;
+
+import com.example.demo.config.BaseException;
+import com.example.demo.utils.JwtService;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청마다 X-ACCESS-TOKEN 을 한 번만 검증해서 결과를 request attribute 로 넘긴다.
+ * 토큰이 없거나 잘못되어도 요청을 막지 않고, 인증이 필요한 API 에서 jwtService.getUserIdx() 호출 시 에러를 응답한다.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+
+    public JwtAuthenticationFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String accessToken = request.getHeader(JwtService.JWT_HEADER);
+        if (accessToken != null && !accessToken.isEmpty()) {
+            try {
+                request.setAttribute(JwtService.USER_IDX_ATTRIBUTE, jwtService.verifyJwt(accessToken));
+            } catch (BaseException exception) {
+                request.setAttribute(JwtService.JWT_STATUS_ATTRIBUTE, exception.getStatus());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.src;
+
+import com.example.demo.src.internal.InternalAccessFilter;
+import com.example.demo.src.internal.InternalAccessProperties;
+import com.example.demo.src.internal.RequestMetrics;
+import com.example.demo.src.internal.RequestMetricsFilter;
+import com.example.demo.src.ratelimit.RateLimitFilter;
+import com.example.demo.src.ratelimit.RateLimitProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, InternalAccessProperties.class})
+public class WebMvcConfig {
+
+    // 보안 필터(JWT 확인)까지 포함해서 측정하도록 가장 먼저 실행
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(RequestMetrics requestMetrics) {
+        FilterRegistrationBean<RequestMetricsFilter> registration = new FilterRegistrationBean<>(new RequestMetricsFilter(requestMetrics));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // 내부 API 는 허용된 IP / token 만 (JWT 확인보다 먼저)
+    @Bean
+    public FilterRegistrationBean<InternalAccessFilter> internalAccessFilter(InternalAccessProperties properties, ObjectMapper objectMapper) throws JsonProcessingException {
+        FilterRegistrationBean<InternalAccessFilter> registration = new FilterRegistrationBean<>(new InternalAccessFilter(properties, objectMapper));
+        registration.addUrlPatterns("/internal/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // JWT 의 userIdx 로 제한하도록 보안 필터 다음에 실행 (Controller 보다는 먼저)
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) throws JsonProcessingException {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(properties, objectMapper));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+}
@@ -1,15 +1,30 @@
 package com.example.demo.src;
 
+import com.example.demo.utils.JwtService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
+
+    private final JwtService jwtService;
+
+    // 기본 필터(CSRF, 세션, 로그인 폼, 익명 인증 등)는 사용하지 않으므로 등록하지 않는다
+    @Autowired
+    public WebSecurityConfig(JwtService jwtService) {
+        super(true);
+        this.jwtService = jwtService;
+    }
+
     @Override
     protected void configure(HttpSecurity http) throws Exception {
-        http.csrf().disable();
+        http.headers()
+                .and()
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService), UsernamePasswordAuthenticationFilter.class);
     }
 }
@@ -2,17 +2,21 @@ package com.example.demo.src.auth;
 
 import com.example.demo.config.BaseException;
 import com.example.demo.config.BaseResponse;
+import com.example.demo.config.BaseResponseStatus;
 import com.example.demo.src.auth.model.*;
 import com.example.demo.src.post.model.PostPostsReq;
 import com.example.demo.utils.JwtService;
+import com.example.demo.utils.RequestValidators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.example.demo.config.BaseResponseStatus.*;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
-import static com.example.demo.utils.ValidationRegex.isRegexEmail;
 
 
 @RestController
@@ -34,27 +38,22 @@ public class AuthController {
         this.jwtService = jwtService;
     }
 
+    // 비밀번호 확인이 끝날 때까지 요청 스레드를 붙잡지 않도록 CompletableFuture 로 응답
     @ResponseBody
     @PostMapping ("/login")
-    public BaseResponse<PostLoginRes> login(@RequestBody PostLoginReq postLoginReq) {
+    public CompletableFuture<BaseResponse<PostLoginRes>> login(@RequestBody PostLoginReq postLoginReq) {
         try{
-            if (postLoginReq.getEmail() == null) {
-                return new BaseResponse<>(POST_USERS_EMPTY_EMAIL);
-            }
-
-            if (postLoginReq.getPwd() == null) {
-                return new BaseResponse<>(POST_USERS_EMPTY_PASSWORD);
-            }
-
-            // 정규식 검증 (이메일 형식, 비밀번호 형식이 맞는지)
-            if (!isRegexEmail(postLoginReq.getEmail())) {
-                return new BaseResponse<>(POST_USERS_INVALID_EMAIL);
+            // 형식적 validation (필수 값, 이메일 형식)
+            BaseResponseStatus status = RequestValidators.POST_LOGIN_REQ.validate(postLoginReq);
+            if (!status.isSuccess()) {
+                return completedFuture(new BaseResponse<>(status));
             }
 
-            PostLoginRes postLoginRes = authService.login(postLoginReq);
-            return new BaseResponse<>(postLoginRes);
+            return authService.login(postLoginReq)
+                    .thenApply(postLoginRes -> new BaseResponse<>(postLoginRes))
+                    .exceptionally(throwable -> new BaseResponse<>(BaseException.statusOf(throwable)));
         } catch(BaseException exception){
-            return new BaseResponse<>((exception.getStatus()));
+            return completedFuture(new BaseResponse<>((exception.getStatus())));
         }
     }
 }
@@ -35,4 +35,11 @@ public class AuthDao {
         );
 
     }
+
+    // 비밀번호 해시 변경 (기존 SHA-256 해시를 BCrypt 로 변경할 때)
+    public int updatePwd(int userIdx, String pwd){
+        String updatePwdQuery = "update User set pwd = ? where userIdx = ?";
+        Object[] updatePwdParams = new Object[]{pwd, userIdx};
+        return this.jdbcTemplate.update(updatePwdQuery, updatePwdParams);
+    }
 }
@@ -3,13 +3,18 @@ package com.example.demo.src.auth;
 import com.example.demo.config.BaseException;
 import com.example.demo.config.secret.Secret;
 import com.example.demo.src.auth.model.*;
+import com.example.demo.utils.DaoExecutor;
 import com.example.demo.utils.JwtService;
-import com.example.demo.utils.SHA256;
+import com.example.demo.utils.PasswordHashService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import static com.example.demo.config.BaseResponseStatus.*;
 
 // Service Create, Update, Delete 의 로직 처리
@@ -20,33 +25,51 @@ public class AuthService {
     private final AuthDao authDao;
     private final AuthProvider authProvider;
     private final JwtService jwtService;
+    private final PasswordHashService passwordHashService;
+    private final DaoExecutor daoExecutor;
 
 
     @Autowired
-    public AuthService(AuthDao authDao, AuthProvider authProvider, JwtService jwtService) {
+    public AuthService(AuthDao authDao, AuthProvider authProvider, JwtService jwtService, PasswordHashService passwordHashService, DaoExecutor daoExecutor) {
         this.authDao = authDao;
         this.authProvider = authProvider;
         this.jwtService = jwtService;
+        this.passwordHashService = passwordHashService;
+        this.daoExecutor = daoExecutor;
     }
 
-    public PostLoginRes login(PostLoginReq postLoginReq) throws BaseException {
-        User user = authDao.getPwd(postLoginReq);
-        String encryptPwd;
-
+    // 비밀번호 확인은 PasswordHashService 스레드 풀에서 처리하고, 결과는 CompletableFuture 로 돌려준다
+    // 해시 변경 저장은 암호화 스레드를 DB 대기로 묶지 않도록 DaoExecutor 에서 이어서 실행한다 (연결 대상 / 동시 호출 제한은 이 요청 기준)
+    public CompletableFuture<PostLoginRes> login(PostLoginReq postLoginReq) throws BaseException {
+        User user;
         try{
-            encryptPwd = new SHA256().encrypt(postLoginReq.getPwd());
+            user = authDao.getPwd(postLoginReq);
+        }
+        catch (EmptyResultDataAccessException exception) {
+            throw new BaseException(FAILED_TO_LOGIN);
         }
         catch (Exception exception) {
-            throw new BaseException(PASSWORD_ENCRYPTION_ERROR);
+            throw new BaseException(DATABASE_ERROR);
         }
 
-        if (user.getPwd().equals(encryptPwd)) {
-            int userIdx = user.getUserIdx();
-            String jwt = jwtService.createJwt(userIdx);
-            return new PostLoginRes(userIdx, jwt);
-        }
-        else {
-            throw new BaseException(FAILED_TO_LOGIN);
-        }
+        return passwordHashService.matches(postLoginReq.getPwd(), user.getPwd())
+                .thenApplyAsync(passwordMatch -> {
+                    if (!passwordMatch.isMatched()) {
+                        throw new CompletionException(new BaseException(FAILED_TO_LOGIN));
+                    }
+
+                    int userIdx = user.getUserIdx();
+                    // 기존 SHA-256 해시 등은 로그인 성공 시 새 해시로 변경 (실패해도 로그인은 성공 처리)
+                    if (passwordMatch.getUpgradedHash() != null) {
+                        try{
+                            authDao.updatePwd(userIdx, passwordMatch.getUpgradedHash());
+                        }
+                        catch (Exception exception) {
+                            logger.warn("비밀번호 해시 변경 실패 userIdx={}", userIdx, exception);
+                        }
+                    }
+                    String jwt = jwtService.createJwt(userIdx);
+                    return new PostLoginRes(userIdx, jwt);
+                }, daoExecutor.withCurrentRoute());
     }
 }
@@ -0,0 +1,125 @@
+package com.example.demo.src.counter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카운트 테이블 (UserCount, PostCount)
+ * 프로필 / 메인 화면 조회 시 Post, Follow, PostLike, Comment 를 집계하지 않고 PK 로 카운트를 읽을 수 있도록
+ * 쓰기 시점에 카운트를 갱신하고, 주기적으로 원본 테이블과 맞춘다.
+ */
+@Repository
+public class CounterDao {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // 유저 게시물 수 증감
+    public int updateUserPostCount(int userIdx, int delta){
+        String updateUserPostCountQuery = "INSERT INTO UserCount(userIdx, postCount) VALUES (?, GREATEST(?, 0))\n" +
+                "        ON DUPLICATE KEY UPDATE postCount = GREATEST(postCount + ?, 0)";
+        Object[] updateUserPostCountParams = new Object[] {userIdx, delta, delta};
+        return this.jdbcTemplate.update(updateUserPostCountQuery,
+                updateUserPostCountParams);
+    }
+
+    /*
+    팔로우 / 언팔로우 시 두 유저의 카운트 증감
+    followerCount 는 followerIdx = userIdx 인 행 수, followingCount 는 followeeIdx = userIdx 인 행 수 (UserCount 기준)
+    서로 팔로우 하는 요청이 동시에 와도 교착 상태가 생기지 않도록 userIdx 가 작은 유저부터 갱신한다
+     */
+    public void updateUserFollowCounts(int followerIdx, int followeeIdx, int delta){
+        String updateFollowerCountQuery = "INSERT INTO UserCount(userIdx, followerCount) VALUES (?, GREATEST(?, 0))\n" +
+                "        ON DUPLICATE KEY UPDATE followerCount = GREATEST(followerCount + ?, 0)";
+        String updateFollowingCountQuery = "INSERT INTO UserCount(userIdx, followingCount) VALUES (?, GREATEST(?, 0))\n" +
+                "        ON DUPLICATE KEY UPDATE followingCount = GREATEST(followingCount + ?, 0)";
+        Object[] updateFollowerCountParams = new Object[] {followerIdx, delta, delta};
+        Object[] updateFollowingCountParams = new Object[] {followeeIdx, delta, delta};
+        if (followerIdx < followeeIdx) {
+            this.jdbcTemplate.update(updateFollowerCountQuery, updateFollowerCountParams);
+            this.jdbcTemplate.update(updateFollowingCountQuery, updateFollowingCountParams);
+        } else {
+            this.jdbcTemplate.update(updateFollowingCountQuery, updateFollowingCountParams);
+            this.jdbcTemplate.update(updateFollowerCountQuery, updateFollowerCountParams);
+        }
+    }
+
+    // 게시물 좋아요 수 증감 (postIdx -> 변화량, 한 번의 batch 로 실행)
+    public int[] updatePostLikeCounts(Map<Integer, Long> likeCountDeltas){
+        String updatePostLikeCountQuery = "INSERT INTO PostCount(postIdx, postLikeCount) VALUES (?, GREATEST(?, 0))\n" +
+                "        ON DUPLICATE KEY UPDATE postLikeCount = GREATEST(postLikeCount + ?, 0)";
+        List<Object[]> updatePostLikeCountParams = new ArrayList<>(likeCountDeltas.size());
+        for (Map.Entry<Integer, Long> likeCountDelta : likeCountDeltas.entrySet()) {
+            updatePostLikeCountParams.add(new Object[] {likeCountDelta.getKey(), likeCountDelta.getValue(), likeCountDelta.getValue()});
+        }
+        return this.jdbcTemplate.batchUpdate(updatePostLikeCountQuery,
+                updatePostLikeCountParams);
+    }
+
+    // 게시물 카운트 삭제 (게시물 DELETE 시)
+    public int deletePostCount(int postIdx){
+        String deletePostCountQuery = "DELETE FROM PostCount WHERE postIdx = ?";
+        int deletePostCountParams = postIdx;
+        return this.jdbcTemplate.update(deletePostCountQuery,
+                deletePostCountParams);
+    }
+
+    public int selectMaxUserIdx(){
+        String selectMaxUserIdxQuery = "SELECT IFNULL(MAX(userIdx), 0) FROM User";
+        return this.jdbcTemplate.queryForObject(selectMaxUserIdxQuery, int.class);
+    }
+
+    public int selectMaxPostIdx(){
+        String selectMaxPostIdxQuery = "SELECT IFNULL(MAX(postIdx), 0) FROM Post";
+        return this.jdbcTemplate.queryForObject(selectMaxPostIdxQuery, int.class);
+    }
+
+    /*
+    fromUserIdx ~ toUserIdx 유저들의 카운트를 원본 테이블 기준으로 다시 계산
+    followerCount / followingCount 는 기존 프로필 조회 쿼리와 같은 기준으로 계산한다
+    @return int, 변경된 행 수 (INSERT 1, UPDATE 2, 변경 없음 0)
+     */
+    public int reconcileUserCounts(int fromUserIdx, int toUserIdx){
+        String reconcileUserCountsQuery = "INSERT INTO UserCount(userIdx, postCount, followerCount, followingCount)\n" +
+                "        SELECT u.userIdx,\n" +
+                "            (SELECT COUNT(postIdx) FROM Post WHERE userIdx = u.userIdx and status = 'ACTIVE'),\n" +
+                "            (SELECT COUNT(followIdx) FROM Follow WHERE followerIdx = u.userIdx and status = 'ACTIVE'),\n" +
+                "            (SELECT COUNT(followIdx) FROM Follow WHERE followeeIdx = u.userIdx and status = 'ACTIVE')\n" +
+                "        FROM User as u\n" +
+                "        WHERE u.userIdx BETWEEN ? AND ?\n" +
+                "        ON DUPLICATE KEY UPDATE postCount = VALUES(postCount),\n" +
+                "            followerCount = VALUES(followerCount),\n" +
+                "            followingCount = VALUES(followingCount)";
+        Object[] reconcileUserCountsParams = new Object[] {fromUserIdx, toUserIdx};
+        return this.jdbcTemplate.update(reconcileUserCountsQuery,
+                reconcileUserCountsParams);
+    }
+
+    /*
+    fromPostIdx ~ toPostIdx 게시물들의 좋아요 / 댓글 수를 원본 테이블 기준으로 다시 계산
+    @return int, 변경된 행 수 (INSERT 1, UPDATE 2, 변경 없음 0)
+     */
+    public int reconcilePostCounts(int fromPostIdx, int toPostIdx){
+        String reconcilePostCountsQuery = "INSERT INTO PostCount(postIdx, postLikeCount, commentCount)\n" +
+                "        SELECT p.postIdx,\n" +
+                "            (SELECT COUNT(postLikeIdx) FROM PostLike WHERE postIdx = p.postIdx and status = 'ACTIVE'),\n" +
+                "            (SELECT COUNT(commentIdx) FROM Comment WHERE postIdx = p.postIdx and status = 'ACTIVE')\n" +
+                "        FROM Post as p\n" +
+                "        WHERE p.postIdx BETWEEN ? AND ?\n" +
+                "        ON DUPLICATE KEY UPDATE postLikeCount = VALUES(postLikeCount),\n" +
+                "            commentCount = VALUES(commentCount)";
+        Object[] reconcilePostCountsParams = new Object[] {fromPostIdx, toPostIdx};
+        return this.jdbcTemplate.update(reconcilePostCountsQuery,
+                reconcilePostCountsParams);
+    }
+}
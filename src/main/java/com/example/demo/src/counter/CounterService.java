@@ -0,0 +1,57 @@
+package com.example.demo.src.counter;
+
+import com.example.demo.utils.ContentVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 카운트 테이블 보정 작업
+ * 좋아요 / 댓글 / 팔로우는 이 서버 밖에서도 쓰이므로, 원본 테이블과 카운트가 어긋난 것을 주기적으로 맞춘다.
+ * 한 번에 잠그는 범위를 줄이기 위해 chunkSize 단위로 나눠서 처리한다.
+ */
+@Service
+public class CounterService {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final CounterDao counterDao;
+    private final ContentVersions contentVersions;
+    private final int chunkSize;
+
+
+    @Autowired
+    public CounterService(CounterDao counterDao, ContentVersions contentVersions, @Value("${counter.reconcile.chunk-size:1000}") int chunkSize) {
+        this.counterDao = counterDao;
+        this.contentVersions = contentVersions;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(initialDelayString = "${counter.reconcile.initial-delay-ms:10000}",
+            fixedDelayString = "${counter.reconcile.interval-ms:600000}")
+    public void reconcileCounts() {
+        try {
+            int repairedUsers = 0;
+            int maxUserIdx = counterDao.selectMaxUserIdx();
+            for (int from = 1; from <= maxUserIdx; from += chunkSize) {
+                repairedUsers += counterDao.reconcileUserCounts(from, from + chunkSize - 1);
+            }
+
+            int repairedPosts = 0;
+            int maxPostIdx = counterDao.selectMaxPostIdx();
+            for (int from = 1; from <= maxPostIdx; from += chunkSize) {
+                repairedPosts += counterDao.reconcilePostCounts(from, from + chunkSize - 1);
+            }
+
+            if (repairedUsers > 0 || repairedPosts > 0) {
+                logger.warn("카운트 보정 : UserCount {} rows, PostCount {} rows", repairedUsers, repairedPosts);
+                // 어느 유저의 카운트가 바뀌었는지 모르므로 모든 ETag 를 바꾼다
+                contentVersions.touchAll();
+            }
+        } catch (Exception exception) {
+            logger.error("카운트 보정 실패", exception);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.src.follow;
+
+import com.example.demo.config.BaseException;
+import com.example.demo.config.BaseResponse;
+import com.example.demo.utils.JwtService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/follows")
+public class FollowController {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private final FollowService followService;
+    @Autowired
+    private final JwtService jwtService;
+
+
+    public FollowController(FollowService followService, JwtService jwtService) {
+        this.followService = followService;
+        this.jwtService = jwtService;
+    }
+
+    // 팔로우 (JWT 의 유저가 followeeIdx 를 팔로우)
+    @ResponseBody
+    @PostMapping ("/{followeeIdx}") // http://localhost:9000/follows/2
+    public BaseResponse<String> follow(@PathVariable("followeeIdx") int followeeIdx) {
+        try{
+            int userIdx = jwtService.getUserIdx();
+            boolean changed = followService.follow(userIdx, followeeIdx, true);
+            String result = changed ? "팔로우를 완료하였습니다." : "이미 팔로우 한 유저입니다.";
+            return new BaseResponse<>(result);
+        } catch(BaseException exception){
+            return new BaseResponse<>((exception.getStatus()));
+        }
+    }
+
+    // 언팔로우
+    @ResponseBody
+    @DeleteMapping ("/{followeeIdx}") // http://localhost:9000/follows/2
+    public BaseResponse<String> unfollow(@PathVariable("followeeIdx") int followeeIdx) {
+        try{
+            int userIdx = jwtService.getUserIdx();
+            boolean changed = followService.follow(userIdx, followeeIdx, false);
+            String result = changed ? "언팔로우를 완료하였습니다." : "팔로우 하지 않은 유저입니다.";
+            return new BaseResponse<>(result);
+        } catch(BaseException exception){
+            return new BaseResponse<>((exception.getStatus()));
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.example.demo.src.follow;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Repository
+public class FollowDao {
+
+    private JdbcTemplate jdbcTemplate;
+    // 전체 팔로우 관계 로드 전용 : MySQL 드라이버는 fetchSize 가 Integer.MIN_VALUE 일 때 결과를 한 번에 받지 않고 한 행씩 읽는다 (forward-only 스트리밍)
+    private JdbcTemplate streamingJdbcTemplate;
+
+    @Autowired
+    public void setDataSource(DataSource dataSource){
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    // (followerIdx, followeeIdx) 한 쌍씩 받는 callback (boxing 없이 넘기기 위해)
+    public interface FollowEdgeHandler {
+        void accept(int followerIdx, int followeeIdx);
+    }
+
+    // 모든 팔로우 관계를 List 에 모으지 않고 한 건씩 handler 로 넘긴다 (FollowGraph 로드)
+    public void selectFollowEdges(FollowEdgeHandler handler){
+        String selectFollowEdgesQuery = "SELECT followerIdx, followeeIdx FROM Follow WHERE status = 'ACTIVE'";
+        this.streamingJdbcTemplate.query(selectFollowEdgesQuery,
+                (RowCallbackHandler) rs -> handler.accept(rs.getInt(1), rs.getInt(2)));
+    }
+
+    // 유저가 팔로우 하는 유저들 (FollowGraph 로드 전)
+    public List<Integer> selectFolloweeIdxs(int userIdx){
+        String selectFolloweesQuery = "SELECT followeeIdx FROM Follow WHERE followerIdx = ? and status = 'ACTIVE' ORDER BY followeeIdx";
+        int selectFolloweesParam = userIdx;
+        return this.jdbcTemplate.queryForList(selectFolloweesQuery, Integer.class, selectFolloweesParam);
+    }
+
+    // 유저를 팔로우 하는 유저들 (FollowGraph 로드 전)
+    public List<Integer> selectFollowerIdxs(int userIdx){
+        String selectFollowersQuery = "SELECT followerIdx FROM Follow WHERE followeeIdx = ? and status = 'ACTIVE' ORDER BY followerIdx";
+        int selectFollowersParam = userIdx;
+        return this.jdbcTemplate.queryForList(selectFollowersQuery, Integer.class, selectFollowersParam);
+    }
+
+    // 팔로우 행이 없으면 INACTIVE 로 추가하고, 있으면 그대로 둔다 (유니크 키 (followerIdx, followeeIdx), 어느 쪽이든 행이 잠긴다)
+    public int upsertFollow(int followerIdx, int followeeIdx){
+        String upsertFollowQuery = "INSERT INTO Follow(followerIdx, followeeIdx, status) VALUES (?, ?, 'INACTIVE')\n" +
+                "        ON DUPLICATE KEY UPDATE followIdx = followIdx";
+        Object[] upsertFollowParams = new Object[] {followerIdx, followeeIdx};
+        return this.jdbcTemplate.update(upsertFollowQuery,
+                upsertFollowParams);
+    }
+
+    // 팔로우 상태 변경, 이미 같은 상태면 바꾸지 않는다
+    // @return 상태가 바뀌었으면 1, 이미 같은 상태거나 행이 없으면 0
+    public int updateFollowStatus(int followerIdx, int followeeIdx, String status){
+        String updateFollowStatusQuery = "UPDATE Follow SET status = ?, updatedAt = CURRENT_TIMESTAMP\n" +
+                "        WHERE followerIdx = ? and followeeIdx = ? and status <> ?";
+        Object[] updateFollowStatusParams = new Object[] {status, followerIdx, followeeIdx, status};
+        return this.jdbcTemplate.update(updateFollowStatusQuery,
+                updateFollowStatusParams);
+    }
+
+    // 존재하는 유저인지 확인
+    public int checkUserExist(int userIdx){
+        String checkUserExistQuery = "select exists(select userIdx from User where userIdx = ?)";
+        int checkUserExistParams = userIdx;
+        return this.jdbcTemplate.queryForObject(checkUserExistQuery,
+                int.class,
+                checkUserExistParams);
+    }
+}
@@ -0,0 +1,339 @@
+package com.example.demo.src.follow;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 팔로우 관계 (메모리)
+ * 메인 화면 / ETag / 타임라인 fan-out 에서 Follow 를 조회하거나 join 하지 않고 이 목록을 사용한다.
+ * - 유저별 목록은 boxing 없이 정렬된 int 배열로 저장한다 (CSR : 모든 유저의 목록을 이어 붙인 배열 + 유저별 시작 위치).
+ * - 팔로우 / 언팔로우는 전체 배열을 다시 만들지 않고 유저별 변경분(Row)에 모았다가, 변경분이 커지면 그 유저의 목록만 새로 만든다.
+ * - 서버 시작 시, 그리고 다른 서버에서 생긴 변경을 반영하기 위해 follow.graph.rebuild-interval-ms 마다 DB 에서 다시 읽는다.
+ * - 다 읽기 전에는 DB 에서 조회한다.
+ */
+@Component
+public class FollowGraph {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final FollowDao followDao;
+
+    private volatile Adjacency followees = null; // followerIdx -> 팔로우 하는 유저들
+    private volatile Adjacency followers = null; // followeeIdx -> 팔로워들
+    // 다시 읽는 동안 생긴 변경 (다 읽은 뒤 새 목록에 반영), 다시 읽는 중이 아니면 null
+    private List<int[]> changesDuringRebuild = null;
+
+    @Autowired
+    public FollowGraph(FollowDao followDao) {
+        this.followDao = followDao;
+    }
+
+    // 유저가 팔로우 하는 유저들 (오름차순)
+    public int[] followees(int userIdx) {
+        Adjacency adjacency = followees;
+        if (adjacency == null) {
+            return followDao.selectFolloweeIdxs(userIdx).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return adjacency.get(userIdx);
+    }
+
+    // 유저를 팔로우 하는 유저들 (오름차순)
+    public int[] followers(int userIdx) {
+        Adjacency adjacency = followers;
+        if (adjacency == null) {
+            return followDao.selectFollowerIdxs(userIdx).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return adjacency.get(userIdx);
+    }
+
+    // 팔로우 / 언팔로우 반영 (커밋 후 호출)
+    public synchronized void update(int followerIdx, int followeeIdx, boolean followed) {
+        if (followees != null) {
+            followees.update(followerIdx, followeeIdx, followed);
+            followers.update(followeeIdx, followerIdx, followed);
+        }
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(new int[] {followerIdx, followeeIdx, followed ? 1 : 0});
+        }
+    }
+
+    // DB 에서 다시 읽기, 다 읽을 때까지는 기존 목록(처음이면 DB)을 사용한다
+    @Scheduled(fixedDelayString = "${follow.graph.rebuild-interval-ms:1800000}")
+    public void rebuild() {
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            Edges edges = new Edges();
+            followDao.selectFollowEdges(edges::add);
+            Adjacency newFollowees = Adjacency.build(edges.followerIdxs, edges.followeeIdxs, edges.size);
+            Adjacency newFollowers = Adjacency.build(edges.followeeIdxs, edges.followerIdxs, edges.size);
+
+            synchronized (this) {
+                for (int[] change : changesDuringRebuild) {
+                    newFollowees.update(change[0], change[1], change[2] == 1);
+                    newFollowers.update(change[1], change[0], change[2] == 1);
+                }
+                followees = newFollowees;
+                followers = newFollowers;
+            }
+            logger.info("팔로우 관계 로드 : {} edges, {} bytes, {} ms",
+                    newFollowees.edgeCount(), sizeInBytes(), System.currentTimeMillis() - startedAt);
+        } catch (Exception exception) {
+            logger.error("팔로우 관계 로드 실패", exception);
+        } finally {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+        }
+    }
+
+    // 추정 메모리 사용량 (byte)
+    public long sizeInBytes() {
+        Adjacency currentFollowees = followees;
+        Adjacency currentFollowers = followers;
+        return currentFollowees == null ? 0 : currentFollowees.sizeInBytes() + currentFollowers.sizeInBytes();
+    }
+
+    // 벤치마크(FollowGraphBenchmark)에서 DB 없이 채우도록 package-private
+    synchronized void load(int[] followerIdxs, int[] followeeIdxs, int size) {
+        followees = Adjacency.build(followerIdxs, followeeIdxs, size);
+        followers = Adjacency.build(followeeIdxs, followerIdxs, size);
+    }
+
+    // DB 에서 읽은 (followerIdx, followeeIdx) 쌍
+    private static class Edges {
+        private int[] followerIdxs = new int[1024];
+        private int[] followeeIdxs = new int[1024];
+        private int size;
+
+        void add(int followerIdx, int followeeIdx) {
+            if (size == followerIdxs.length) {
+                followerIdxs = Arrays.copyOf(followerIdxs, size * 2);
+                followeeIdxs = Arrays.copyOf(followeeIdxs, size * 2);
+            }
+            followerIdxs[size] = followerIdx;
+            followeeIdxs[size] = followeeIdx;
+            size++;
+        }
+    }
+
+    /**
+     * 한 방향의 인접 목록
+     * 읽은 시점의 목록은 targets 에 유저 순서대로 이어 붙여 저장하고 (offsets[userIdx] ~ offsets[userIdx + 1]),
+     * 이후 변경은 바뀐 유저만 rows 에 저장한다. 읽기는 잠그지 않고, 변경은 FollowGraph 가 한 번에 하나씩 호출한다.
+     */
+    static final class Adjacency {
+        private static final int[] EMPTY = new int[0];
+
+        private final int[] offsets;
+        private final int[] targets;
+        private final ConcurrentHashMap<Integer, Row> rows = new ConcurrentHashMap<>();
+
+        private Adjacency(int[] offsets, int[] targets) {
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        // from[i] -> to[i] 쌍으로 만들기 (중복은 하나로)
+        static Adjacency build(int[] from, int[] to, int size) {
+            int maxIdx = 0;
+            for (int i = 0; i < size; i++) {
+                maxIdx = Math.max(maxIdx, from[i]);
+            }
+
+            // 유저별 개수로 시작 위치를 정하고 (counting sort) 유저마다 정렬
+            int[] offsets = new int[maxIdx + 2];
+            for (int i = 0; i < size; i++) {
+                offsets[from[i] + 1]++;
+            }
+            for (int i = 1; i < offsets.length; i++) {
+                offsets[i] += offsets[i - 1];
+            }
+            int[] targets = new int[size];
+            int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+            for (int i = 0; i < size; i++) {
+                targets[next[from[i]]++] = to[i];
+            }
+
+            // 정렬하면서 중복을 제거하고 앞으로 당긴다
+            int write = 0;
+            for (int idx = 0; idx <= maxIdx; idx++) {
+                int start = offsets[idx];
+                int end = offsets[idx + 1];
+                Arrays.sort(targets, start, end);
+                offsets[idx] = write;
+                for (int i = start; i < end; i++) {
+                    if (write == offsets[idx] || targets[write - 1] != targets[i]) {
+                        targets[write++] = targets[i];
+                    }
+                }
+            }
+            offsets[maxIdx + 1] = write;
+            return new Adjacency(offsets, write == size ? targets : Arrays.copyOf(targets, write));
+        }
+
+        int[] get(int idx) {
+            Row row = rows.get(idx);
+            return row != null ? row.toArray(this, idx) : baseArray(idx);
+        }
+
+        void update(int idx, int target, boolean add) {
+            Row row = rows.getOrDefault(idx, Row.INITIAL);
+            Row updated = add ? row.with(this, idx, target) : row.without(this, idx, target);
+            if (updated != row) {
+                rows.put(idx, updated);
+            }
+        }
+
+        long edgeCount() {
+            long count = targets.length;
+            for (Map.Entry<Integer, Row> entry : rows.entrySet()) {
+                count += entry.getValue().size(this, entry.getKey()) - baseSize(entry.getKey());
+            }
+            return count;
+        }
+
+        // 추정 메모리 사용량 (배열 header 16 byte, 변경된 유저는 map entry / key / Row 포함 약 100 byte)
+        long sizeInBytes() {
+            long bytes = 16 + 4L * offsets.length + 16 + 4L * targets.length;
+            for (Row row : rows.values()) {
+                bytes += 100 + row.sizeInBytes();
+            }
+            return bytes;
+        }
+
+        // 읽은 시점의 목록 (rows 의 변경 제외)
+        private int[] baseArray(int idx) {
+            if (idx < 0 || idx + 1 >= offsets.length) {
+                return EMPTY;
+            }
+            return Arrays.copyOfRange(targets, offsets[idx], offsets[idx + 1]);
+        }
+
+        private int baseSize(int idx) {
+            return idx < 0 || idx + 1 >= offsets.length ? 0 : offsets[idx + 1] - offsets[idx];
+        }
+
+        private boolean baseContains(int idx, int target) {
+            if (idx < 0 || idx + 1 >= offsets.length) {
+                return false;
+            }
+            return Arrays.binarySearch(targets, offsets[idx], offsets[idx + 1], target) >= 0;
+        }
+    }
+
+    /**
+     * 한 유저의 변경된 목록 (변경할 때마다 새 객체)
+     * base 가 null 이면 Adjacency.targets 의 목록에 added 를 더하고 removed 를 뺀 것이다.
+     * 변경분이 sqrt(목록 크기) 보다 커지면 전체 목록을 base 로 새로 만든다 (한 번 변경할 때 복사하는 양을 줄이기 위해).
+     */
+    static final class Row {
+        static final Row INITIAL = new Row(null, Adjacency.EMPTY, Adjacency.EMPTY);
+        private static final int MIN_DELTA = 16;
+
+        private final int[] base;
+        private final int[] added;   // base 에 없는 값, 오름차순
+        private final int[] removed; // base 에 있는 값, 오름차순
+
+        private Row(int[] base, int[] added, int[] removed) {
+            this.base = base;
+            this.added = added;
+            this.removed = removed;
+        }
+
+        Row with(Adjacency adjacency, int idx, int target) {
+            if (inBase(adjacency, idx, target)) {
+                int pos = Arrays.binarySearch(removed, target);
+                return pos < 0 ? this : compact(adjacency, idx, base, added, delete(removed, pos));
+            }
+            int pos = Arrays.binarySearch(added, target);
+            return pos >= 0 ? this : compact(adjacency, idx, base, insert(added, -pos - 1, target), removed);
+        }
+
+        Row without(Adjacency adjacency, int idx, int target) {
+            if (inBase(adjacency, idx, target)) {
+                int pos = Arrays.binarySearch(removed, target);
+                return pos >= 0 ? this : compact(adjacency, idx, base, added, insert(removed, -pos - 1, target));
+            }
+            int pos = Arrays.binarySearch(added, target);
+            return pos < 0 ? this : compact(adjacency, idx, base, delete(added, pos), removed);
+        }
+
+        int[] toArray(Adjacency adjacency, int idx) {
+            int[] values = base != null ? base : adjacency.baseArray(idx);
+            if (added.length == 0 && removed.length == 0) {
+                return values == base ? base.clone() : values;
+            }
+
+            int[] merged = new int[values.length + added.length - removed.length];
+            int write = 0;
+            int a = 0;
+            int r = 0;
+            for (int value : values) {
+                while (a < added.length && added[a] < value) {
+                    merged[write++] = added[a++];
+                }
+                if (r < removed.length && removed[r] == value) {
+                    r++;
+                    continue;
+                }
+                merged[write++] = value;
+            }
+            while (a < added.length) {
+                merged[write++] = added[a++];
+            }
+            return merged;
+        }
+
+        int size(Adjacency adjacency, int idx) {
+            int baseSize = base != null ? base.length : adjacency.baseSize(idx);
+            return baseSize + added.length - removed.length;
+        }
+
+        long sizeInBytes() {
+            return 24 + (base != null ? 16 + 4L * base.length : 0) + 16 + 4L * added.length + 16 + 4L * removed.length;
+        }
+
+        private boolean inBase(Adjacency adjacency, int idx, int target) {
+            return base != null ? Arrays.binarySearch(base, target) >= 0 : adjacency.baseContains(idx, target);
+        }
+
+        private static Row compact(Adjacency adjacency, int idx, int[] base, int[] added, int[] removed) {
+            Row row = new Row(base, added, removed);
+            int baseSize = base != null ? base.length : adjacency.baseSize(idx);
+            int maxDelta = Math.max(MIN_DELTA, (int) Math.sqrt(baseSize));
+            if (added.length + removed.length <= maxDelta) {
+                return row;
+            }
+            return new Row(row.toArray(adjacency, idx), Adjacency.EMPTY, Adjacency.EMPTY);
+        }
+
+        private static int[] insert(int[] values, int pos, int value) {
+            int[] inserted = new int[values.length + 1];
+            System.arraycopy(values, 0, inserted, 0, pos);
+            inserted[pos] = value;
+            System.arraycopy(values, pos, inserted, pos + 1, values.length - pos);
+            return inserted;
+        }
+
+        private static int[] delete(int[] values, int pos) {
+            if (values.length == 1) {
+                return Adjacency.EMPTY;
+            }
+            int[] deleted = new int[values.length - 1];
+            System.arraycopy(values, 0, deleted, 0, pos);
+            System.arraycopy(values, pos + 1, deleted, pos, values.length - pos - 1);
+            return deleted;
+        }
+    }
+}
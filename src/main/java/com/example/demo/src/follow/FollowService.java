@@ -0,0 +1,84 @@
+package com.example.demo.src.follow;
+
+import com.example.demo.config.BaseException;
+import com.example.demo.src.counter.CounterDao;
+import com.example.demo.src.post.PostTimelineStore;
+import com.example.demo.src.user.UserFeedCache;
+import com.example.demo.utils.ContentVersions;
+import com.example.demo.utils.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.example.demo.config.BaseResponseStatus.*;
+
+// Service Create, Update, Delete 의 로직 처리
+@Service
+public class FollowService {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final FollowDao followDao;
+    private final FollowGraph followGraph;
+    private final CounterDao counterDao;
+    private final PostTimelineStore postTimelineStore;
+    private final UserFeedCache userFeedCache;
+    private final ContentVersions contentVersions;
+
+
+    @Autowired
+    public FollowService(FollowDao followDao, FollowGraph followGraph, CounterDao counterDao, PostTimelineStore postTimelineStore,
+                         UserFeedCache userFeedCache, ContentVersions contentVersions) {
+        this.followDao = followDao;
+        this.followGraph = followGraph;
+        this.counterDao = counterDao;
+        this.postTimelineStore = postTimelineStore;
+        this.userFeedCache = userFeedCache;
+        this.contentVersions = contentVersions;
+    }
+
+    /*
+    팔로우 / 언팔로우 : Follow, 두 유저의 카운트를 한 트랜잭션으로 저장하고 커밋 후 FollowGraph 에 반영
+    @return 팔로우 상태가 바뀌었으면 true, 이미 같은 상태면 false
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public boolean follow(int followerIdx, int followeeIdx, boolean followed) throws BaseException {
+        if (followerIdx == followeeIdx) {
+            throw new BaseException(FOLLOWS_SELF);
+        }
+
+        try{
+            if (followDao.checkUserExist(followeeIdx) == 0) {
+                throw new BaseException(USERS_EMPTY_USER_ID);
+            }
+
+            // 팔로우 할 때는 행을 먼저 만들어 두고 (동시에 팔로우 해도 행은 하나), 상태가 실제로 바뀐 경우에만 카운트를 갱신한다
+            // 언팔로우 할 때 행이 없으면 팔로우 한 적이 없는 것
+            if (followed) {
+                followDao.upsertFollow(followerIdx, followeeIdx);
+            }
+            if (followDao.updateFollowStatus(followerIdx, followeeIdx, followed ? "ACTIVE" : "INACTIVE") == 0) {
+                return false;
+            }
+            counterDao.updateUserFollowCounts(followerIdx, followeeIdx, followed ? 1 : -1);
+
+            // 커밋 후 팔로우 관계 / 팔로워의 타임라인 / 두 유저의 프로필 캐시와 ETag 갱신
+            TransactionCallbacks.afterCommit(() -> {
+                followGraph.update(followerIdx, followeeIdx, followed);
+                postTimelineStore.invalidate(followerIdx);
+                userFeedCache.invalidate(followerIdx);
+                userFeedCache.invalidate(followeeIdx);
+                contentVersions.touch(followerIdx);
+                contentVersions.touch(followeeIdx);
+            });
+            return true;
+        }
+        catch (BaseException exception) {
+            throw exception;
+        }
+        catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+}
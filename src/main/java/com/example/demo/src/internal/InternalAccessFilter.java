@@ -0,0 +1,67 @@
+package com.example.demo.src.internal;
+
+import com.example.demo.config.BaseResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.example.demo.config.BaseResponseStatus.INVALID_USER_JWT;
+
+/**
+ * /internal/** (캐시 통계, API 응답 시간 / 에러 코드, Dao 동시 호출 제한 상태) 접근 제한
+ * 서버 자신(loopback)과 internal.allowed-addresses 의 IP, 또는 X-INTERNAL-TOKEN 이 internal.access-token 과 같은 요청만 허용하고 나머지는 403.
+ * IP 는 request.getRemoteAddr() 기준이므로 X-Forwarded-For 를 직접 믿지 않는다 (프록시 뒤라면 Tomcat RemoteIpValve 로 원래 IP 를 넘겨받는다).
+ */
+public class InternalAccessFilter extends OncePerRequestFilter {
+    public static final String ACCESS_TOKEN_HEADER = "X-INTERNAL-TOKEN";
+
+    private static final Set<String> LOOPBACK_ADDRESSES = new HashSet<>(Arrays.asList("127.0.0.1", "0:0:0:0:0:0:0:1", "::1"));
+
+    private final Set<String> allowedAddresses;
+    private final byte[] accessToken; // 설정하지 않았으면 null
+    private final byte[] forbiddenBody;
+
+    public InternalAccessFilter(InternalAccessProperties properties, ObjectMapper objectMapper) throws JsonProcessingException {
+        this.allowedAddresses = new HashSet<>(LOOPBACK_ADDRESSES);
+        this.allowedAddresses.addAll(properties.getAllowedAddresses());
+        String token = properties.getAccessToken();
+        this.accessToken = token == null || token.isEmpty() ? null : token.getBytes(StandardCharsets.UTF_8);
+        this.forbiddenBody = objectMapper.writeValueAsBytes(new BaseResponse<>(INVALID_USER_JWT));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAllowed(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(forbiddenBody.length);
+        response.getOutputStream().write(forbiddenBody);
+    }
+
+    private boolean isAllowed(HttpServletRequest request) {
+        if (allowedAddresses.contains(request.getRemoteAddr())) {
+            return true;
+        }
+        String token = request.getHeader(ACCESS_TOKEN_HEADER);
+        // 앞부분이 맞는지로 token 을 추측할 수 없도록 길이와 관계없이 끝까지 비교
+        return accessToken != null && token != null
+                && MessageDigest.isEqual(accessToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
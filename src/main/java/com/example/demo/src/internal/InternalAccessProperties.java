@@ -0,0 +1,21 @@
+package com.example.demo.src.internal;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /internal/** 접근 허용 설정
+ * internal.allowed-addresses[0]=10.0.0.5   (Prometheus 등 수집 서버 IP, 서버 자신(loopback)은 항상 허용)
+ * internal.access-token=...                  (설정하면 X-INTERNAL-TOKEN 헤더가 같은 요청도 허용)
+ */
+@Getter
+@Setter
+@ConfigurationProperties("internal")
+public class InternalAccessProperties {
+    private List<String> allowedAddresses = new ArrayList<>();
+    private String accessToken;
+}
@@ -0,0 +1,85 @@
+package com.example.demo.src.internal;
+
+import com.example.demo.config.BaseResponse;
+import com.example.demo.src.internal.model.GetCacheStatsRes;
+import com.example.demo.src.post.LikedPostIndex;
+import com.example.demo.src.post.PostFeedCache;
+import com.example.demo.src.post.PostTimelineStore;
+import com.example.demo.src.user.UserFeedCache;
+import com.example.demo.utils.DaoConcurrencyLimiter;
+import com.example.demo.utils.JwtService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 서버 내부 상태 확인용 API (운영 / 모니터링 용도)
+ * 허용된 IP / token 만 접근할 수 있다 (InternalAccessFilter)
+ */
+@RestController
+@RequestMapping("/internal")
+public class InternalController {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private final UserFeedCache userFeedCache;
+    @Autowired
+    private final PostTimelineStore postTimelineStore;
+    @Autowired
+    private final PostFeedCache postFeedCache;
+    @Autowired
+    private final LikedPostIndex likedPostIndex;
+    @Autowired
+    private final JwtService jwtService;
+    @Autowired
+    private final RequestMetrics requestMetrics;
+    @Autowired
+    private final DaoConcurrencyLimiter daoConcurrencyLimiter;
+
+
+    public InternalController(UserFeedCache userFeedCache, PostTimelineStore postTimelineStore, PostFeedCache postFeedCache, LikedPostIndex likedPostIndex, JwtService jwtService,
+                              RequestMetrics requestMetrics, DaoConcurrencyLimiter daoConcurrencyLimiter) {
+        this.userFeedCache = userFeedCache;
+        this.postTimelineStore = postTimelineStore;
+        this.postFeedCache = postFeedCache;
+        this.likedPostIndex = likedPostIndex;
+        this.jwtService = jwtService;
+        this.requestMetrics = requestMetrics;
+        this.daoConcurrencyLimiter = daoConcurrencyLimiter;
+    }
+
+    /**
+     * 캐시 통계 조회 API
+     * [GET] /internal/caches
+     * @return BaseResponse<List<GetCacheStatsRes>>
+     */
+    @ResponseBody
+    @GetMapping("/caches")
+    public BaseResponse<List<GetCacheStatsRes>> getCaches() {
+        List<GetCacheStatsRes> getCacheStatsRes = new ArrayList<>();
+        getCacheStatsRes.add(userFeedCache.getCacheStats());
+        getCacheStatsRes.add(postTimelineStore.getCacheStats());
+        getCacheStatsRes.add(postFeedCache.getCacheStats());
+        getCacheStatsRes.add(likedPostIndex.getCacheStats());
+        getCacheStatsRes.add(jwtService.getCacheStats());
+        return new BaseResponse<>(getCacheStatsRes);
+    }
+
+    /**
+     * API 응답 시간 조회 API (Prometheus 수집용)
+     * [GET] /internal/metrics
+     * @return Prometheus 텍스트 형식 (메소드 / 코드별 p50, p99, p999, 요청 수 + Dao 동시 호출 제한)
+     */
+    @ResponseBody
+    @GetMapping(value = "/metrics", produces = "text/plain; version=0.0.4; charset=utf-8")
+    public String getMetrics() {
+        return requestMetrics.toPrometheusText() + daoConcurrencyLimiter.toPrometheusText();
+    }
+}
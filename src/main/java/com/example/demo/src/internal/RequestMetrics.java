@@ -0,0 +1,132 @@
+package com.example.demo.src.internal;
+
+import com.example.demo.config.BaseResponse;
+import com.example.demo.config.BaseResponseStatus;
+import com.example.demo.utils.LatencyHistogram;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Controller 메소드별 / BaseResponseStatus 코드별 응답 시간 기록
+ * 처음 보는 (메소드, 코드) 조합에서만 히스토그램을 만들고, 이후 기록은 조회와 원자적 증가만 한다.
+ * GET /internal/metrics 에서 Prometheus 텍스트 형식으로 내보낸다.
+ */
+@Component
+public class RequestMetrics {
+    // RequestMetricsAdvice 가 응답으로 나간 BaseResponse 를 담아두는 request attribute
+    public static final String BASE_RESPONSE_ATTRIBUTE = RequestMetrics.class.getName() + ".baseResponse";
+
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.99", "0.999"};
+
+    // 코드 -> 히스토그램 위치 (정렬된 코드 배열에서 이진 탐색, 마지막 칸은 BaseResponse 가 아닌 응답)
+    private static final int[] CODES = Arrays.stream(BaseResponseStatus.values())
+            .mapToInt(BaseResponseStatus::getCode)
+            .sorted()
+            .toArray();
+    private static final int NO_CODE_SLOT = CODES.length;
+
+    private final long startedAt = System.nanoTime();
+    private final ConcurrentHashMap<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /*
+    요청 한 건 기록 (RequestMetricsFilter 에서 호출)
+    Controller 메소드로 처리되지 않은 요청(404, 정적 리소스 등)은 기록하지 않는다
+     */
+    public void record(HttpServletRequest request, long elapsedNanos) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod)) {
+            return;
+        }
+        Method method = ((HandlerMethod) handler).getMethod();
+        Endpoint endpoint = endpoints.get(method);
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(method, key -> new Endpoint((HandlerMethod) handler, request));
+        }
+
+        Object baseResponse = request.getAttribute(BASE_RESPONSE_ATTRIBUTE);
+        int slot = NO_CODE_SLOT;
+        if (baseResponse instanceof BaseResponse) {
+            int pos = Arrays.binarySearch(CODES, ((BaseResponse<?>) baseResponse).getCode());
+            if (pos >= 0) {
+                slot = pos;
+            }
+        }
+        endpoint.histogram(slot).record(elapsedNanos / 1000);
+    }
+
+    /*
+    Prometheus 텍스트 형식 (summary)
+    처리량은 http_server_requests_seconds_count 를 rate() 로 계산한다
+     */
+    public String toPrometheusText() {
+        StringBuilder builder = new StringBuilder(4096);
+        builder.append("# HELP http_server_requests_seconds Controller 응답 시간 (서버 시작 이후 누적)\n");
+        builder.append("# TYPE http_server_requests_seconds summary\n");
+
+        List<Endpoint> sortedEndpoints = new ArrayList<>(endpoints.values());
+        sortedEndpoints.sort(Comparator.comparing((Endpoint endpoint) -> endpoint.uri).thenComparing(endpoint -> endpoint.method));
+        for (Endpoint endpoint : sortedEndpoints) {
+            for (int slot = 0; slot <= NO_CODE_SLOT; slot++) {
+                LatencyHistogram histogram = endpoint.histograms.get(slot);
+                if (histogram == null) {
+                    continue;
+                }
+                LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+                String labels = "handler=\"" + endpoint.handler + "\",method=\"" + endpoint.method + "\",uri=\"" + endpoint.uri
+                        + "\",code=\"" + (slot == NO_CODE_SLOT ? "none" : String.valueOf(CODES[slot])) + "\"";
+                for (int i = 0; i < QUANTILES.length; i++) {
+                    builder.append("http_server_requests_seconds{").append(labels)
+                            .append(",quantile=\"").append(QUANTILE_LABELS[i]).append("\"} ")
+                            .append(toSeconds(snapshot.valueAtQuantile(QUANTILES[i]))).append('\n');
+                }
+                builder.append("http_server_requests_seconds_count{").append(labels).append("} ").append(snapshot.getTotalCount()).append('\n');
+                builder.append("http_server_requests_seconds_sum{").append(labels).append("} ").append(toSeconds(snapshot.getTotalMicros())).append('\n');
+                builder.append("http_server_requests_seconds_max{").append(labels).append("} ").append(toSeconds(snapshot.getMaxMicros())).append('\n');
+            }
+        }
+
+        builder.append("# HELP process_uptime_seconds 서버 시작 이후 경과 시간\n");
+        builder.append("# TYPE process_uptime_seconds gauge\n");
+        builder.append("process_uptime_seconds ").append(toSeconds((System.nanoTime() - startedAt) / 1000)).append('\n');
+        return builder.toString();
+    }
+
+    private static String toSeconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+
+    private static class Endpoint {
+        private final String handler;
+        private final String method;
+        private final String uri;
+        private final AtomicReferenceArray<LatencyHistogram> histograms = new AtomicReferenceArray<>(NO_CODE_SLOT + 1);
+
+        Endpoint(HandlerMethod handlerMethod, HttpServletRequest request) {
+            this.handler = handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+            this.method = request.getMethod();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            this.uri = pattern != null ? pattern.toString() : request.getRequestURI();
+        }
+
+        LatencyHistogram histogram(int slot) {
+            LatencyHistogram histogram = histograms.get(slot);
+            if (histogram == null) {
+                histograms.compareAndSet(slot, null, new LatencyHistogram());
+                histogram = histograms.get(slot);
+            }
+            return histogram;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.src.internal;
+
+import com.example.demo.config.BaseResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 응답으로 나가는 BaseResponse 를 request 에 담아서 RequestMetrics 가 코드별로 기록할 수 있게 한다.
+ */
+@ControllerAdvice
+public class RequestMetricsAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof BaseResponse && request instanceof ServletServerHttpRequest) {
+            ((ServletServerHttpRequest) request).getServletRequest().setAttribute(RequestMetrics.BASE_RESPONSE_ATTRIBUTE, body);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.src.internal;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청 전체(보안 필터 포함) 처리 시간을 RequestMetrics 에 기록
+ * 비동기 응답(CompletableFuture, StreamingResponseBody)은 응답이 끝난 시점에 기록한다.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final RequestMetrics requestMetrics;
+
+    public RequestMetricsFilter(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startedAt = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        requestMetrics.record(request, System.nanoTime() - startedAt);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                requestMetrics.record(request, System.nanoTime() - startedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.src.internal.model;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class GetCacheStatsRes {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private Long memoryBytes; // 추정 메모리 사용량 (byte), 메모리로 크기를 제한하는 캐시만
+
+    public static GetCacheStatsRes of(String name, long size, CacheStats stats) {
+        return new GetCacheStatsRes(name, size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(), null);
+    }
+
+    public static GetCacheStatsRes of(String name, long size, CacheStats stats, long memoryBytes) {
+        return new GetCacheStatsRes(name, size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(), memoryBytes);
+    }
+}
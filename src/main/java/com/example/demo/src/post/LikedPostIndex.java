@@ -0,0 +1,275 @@
+package com.example.demo.src.post;
+
+import com.example.demo.config.datasource.DataSourceRoute;
+import com.example.demo.src.internal.model.GetCacheStatsRes;
+import com.example.demo.src.post.model.GetPostsRes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저별 좋아요 한 게시물 목록 (likeOrNot 계산용)
+ * 메인 화면 조회 시 PostLike 를 join 하지 않고 이 목록으로 likeOrNot 을 채운다.
+ * 처음 조회할 때 유저의 좋아요를 한 번에 읽어 압축 bitmap(LikedPosts)으로 만들고, 좋아요 / 취소 시 바로 갱신한다.
+ * 캐시 크기는 유저 수가 아니라 추정 메모리(byte)로 제한하므로 좋아요가 많은 유저가 많아지면 먼저 밀려난다.
+ */
+@Component
+public class LikedPostIndex {
+
+    private final PostDao postDao;
+    private final PostLikeBuffer postLikeBuffer;
+    private final Cache<Integer, LikedPosts> likedPosts;
+
+    @Autowired
+    public LikedPostIndex(PostDao postDao, PostLikeBuffer postLikeBuffer,
+                          @Value("${post.liked-index.max-bytes:67108864}") long maxBytes,
+                          @Value("${post.liked-index.expire-minutes:30}") long expireMinutes) {
+        this.postDao = postDao;
+        this.postLikeBuffer = postLikeBuffer;
+        this.likedPosts = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Integer userIdx, LikedPosts posts) -> posts.sizeInBytes())
+                .expireAfterAccess(expireMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+    }
+
+    // 유저가 게시물에 좋아요를 했는지 (저장 대기 중인 좋아요 포함)
+    public boolean isLiked(int userIdx, int postIdx) {
+        return load(userIdx).contains(postIdx);
+    }
+
+    // 게시물 목록의 likeOrNot 채우기
+    public void markLiked(int userIdx, List<GetPostsRes> getPosts) {
+        LikedPosts posts = load(userIdx);
+        for (GetPostsRes getPost : getPosts) {
+            getPost.setLikeOrNot(posts.contains(getPost.getPostIdx()) ? "Y" : "N");
+        }
+    }
+
+    // 좋아요 / 취소 반영 : 읽어 둔 유저만 갱신 (읽는 중이면 다 읽은 뒤에 반영된다)
+    public void update(int userIdx, int postIdx, boolean liked) {
+        likedPosts.asMap().computeIfPresent(userIdx, (key, posts) -> {
+            if (liked) {
+                posts.add(postIdx);
+            } else {
+                posts.remove(postIdx);
+            }
+            // 같은 객체를 돌려줘도 크기(weight)는 다시 계산된다
+            return posts;
+        });
+    }
+
+    public GetCacheStatsRes getCacheStats() {
+        long memoryBytes = likedPosts.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return GetCacheStatsRes.of("likedPosts", likedPosts.estimatedSize(), likedPosts.stats(), memoryBytes);
+    }
+
+    private LikedPosts load(int userIdx) {
+        return likedPosts.get(userIdx, key -> {
+            // DB 를 읽는 사이에 저장(flush)된 좋아요를 놓치지 않도록 대기 중인 좋아요를 읽기 전후로 반영한다
+            List<PostLikeBuffer.PendingLike> pendingBefore = postLikeBuffer.pendingLikes(key);
+            LikedPosts posts = new LikedPosts();
+            // 저장(flush)이 끝나 대기 목록에서 지워진 좋아요가 복제 DB 에는 아직 없을 수 있으므로 primary 에서 읽는다
+            DataSourceRoute previous = DataSourceRoute.enter(DataSourceRoute.PRIMARY);
+            try {
+                for (int postIdx : postDao.selectLikedPostIdxs(key)) {
+                    posts.add(postIdx);
+                }
+            } finally {
+                DataSourceRoute.restore(previous);
+            }
+            apply(posts, pendingBefore);
+            apply(posts, postLikeBuffer.pendingLikes(key));
+            return posts;
+        });
+    }
+
+    private static void apply(LikedPosts posts, List<PostLikeBuffer.PendingLike> pendingLikes) {
+        for (PostLikeBuffer.PendingLike pendingLike : pendingLikes) {
+            if (pendingLike.isLiked()) {
+                posts.add(pendingLike.getPostIdx());
+            } else {
+                posts.remove(pendingLike.getPostIdx());
+            }
+        }
+    }
+
+    /**
+     * postIdx 집합 (Roaring bitmap 과 같은 방식의 압축 bitmap)
+     * postIdx 의 상위 16비트로 구간을 나누고, 구간마다 하위 16비트를
+     * 4096 개 이하면 정렬된 char 배열(2 byte / 개), 넘으면 65536 비트 bitmap(8 KB)에 저장한다.
+     */
+    static class LikedPosts {
+        private static final int ARRAY_MAX = 4096;
+        private static final int BITMAP_WORDS = 1 << 10; // 65536 비트
+
+        private char[] keys = new char[0];                // 구간(상위 16비트), 오름차순
+        private Object[] containers = new Object[0];      // char[] (하위 16비트, 오름차순) 또는 long[] bitmap
+        private int[] cardinalities = new int[0];         // 구간별 postIdx 개수
+        private int size;                                 // 구간 수
+
+        synchronized boolean contains(int postIdx) {
+            int index = Arrays.binarySearch(keys, 0, size, high(postIdx));
+            if (index < 0) {
+                return false;
+            }
+            char low = low(postIdx);
+            Object container = containers[index];
+            if (container instanceof long[]) {
+                return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch((char[]) container, 0, cardinalities[index], low) >= 0;
+        }
+
+        synchronized void add(int postIdx) {
+            char high = high(postIdx);
+            char low = low(postIdx);
+            int index = Arrays.binarySearch(keys, 0, size, high);
+            if (index < 0) {
+                index = insertContainer(-index - 1, high);
+            }
+
+            Object container = containers[index];
+            int cardinality = cardinalities[index];
+            if (container instanceof long[]) {
+                long[] bitmap = (long[]) container;
+                long bit = 1L << low;
+                if ((bitmap[low >>> 6] & bit) == 0) {
+                    bitmap[low >>> 6] |= bit;
+                    cardinalities[index]++;
+                }
+                return;
+            }
+
+            char[] values = (char[]) container;
+            int pos = Arrays.binarySearch(values, 0, cardinality, low);
+            if (pos >= 0) {
+                return;
+            }
+            if (cardinality == ARRAY_MAX) {
+                long[] bitmap = toBitmap(values, cardinality);
+                bitmap[low >>> 6] |= 1L << low;
+                containers[index] = bitmap;
+                cardinalities[index]++;
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+                containers[index] = values;
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, cardinality - insertAt);
+            values[insertAt] = low;
+            cardinalities[index]++;
+        }
+
+        synchronized void remove(int postIdx) {
+            int index = Arrays.binarySearch(keys, 0, size, high(postIdx));
+            if (index < 0) {
+                return;
+            }
+            char low = low(postIdx);
+            Object container = containers[index];
+            int cardinality = cardinalities[index];
+            if (container instanceof long[]) {
+                long[] bitmap = (long[]) container;
+                long bit = 1L << low;
+                if ((bitmap[low >>> 6] & bit) == 0) {
+                    return;
+                }
+                bitmap[low >>> 6] &= ~bit;
+                cardinalities[index]--;
+                // 다시 배열이 더 작아지면 배열로 되돌린다
+                if (cardinalities[index] <= ARRAY_MAX) {
+                    containers[index] = toArray(bitmap, cardinalities[index]);
+                }
+                return;
+            }
+
+            char[] values = (char[]) container;
+            int pos = Arrays.binarySearch(values, 0, cardinality, low);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(values, pos + 1, values, pos, cardinality - pos - 1);
+            cardinalities[index]--;
+            if (cardinalities[index] == 0) {
+                removeContainer(index);
+            }
+        }
+
+        // 추정 메모리 사용량 (객체 header 16 byte, 참조 4 byte 기준)
+        synchronized int sizeInBytes() {
+            long bytes = 16 + 4 * 16L // LikedPosts + 배열 3개 header
+                    + 2L * keys.length + 4L * containers.length + 4L * cardinalities.length;
+            for (int i = 0; i < size; i++) {
+                Object container = containers[i];
+                bytes += 16 + (container instanceof long[] ? 8L * BITMAP_WORDS : 2L * ((char[]) container).length);
+            }
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        }
+
+        private int insertContainer(int index, char high) {
+            if (size == keys.length) {
+                int capacity = Math.max(4, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                containers = Arrays.copyOf(containers, capacity);
+                cardinalities = Arrays.copyOf(cardinalities, capacity);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(containers, index, containers, index + 1, size - index);
+            System.arraycopy(cardinalities, index, cardinalities, index + 1, size - index);
+            keys[index] = high;
+            containers[index] = new char[4];
+            cardinalities[index] = 0;
+            size++;
+            return index;
+        }
+
+        private void removeContainer(int index) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            System.arraycopy(cardinalities, index + 1, cardinalities, index, size - index - 1);
+            size--;
+            containers[size] = null;
+        }
+
+        private static long[] toBitmap(char[] values, int cardinality) {
+            long[] bitmap = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                bitmap[values[i] >>> 6] |= 1L << values[i];
+            }
+            return bitmap;
+        }
+
+        private static char[] toArray(long[] bitmap, int cardinality) {
+            char[] values = new char[cardinality];
+            int pos = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = bitmap[word];
+                while (bits != 0) {
+                    values[pos++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return values;
+        }
+
+        private static char high(int postIdx) {
+            return (char) (postIdx >>> 16);
+        }
+
+        private static char low(int postIdx) {
+            return (char) postIdx;
+        }
+    }
+}
@@ -3,16 +3,33 @@ package com.example.demo.src.post;
 import com.example.demo.config.BaseException;
 import com.example.demo.config.BaseResponse;
 import com.example.demo.config.BaseResponseStatus;
-import com.example.demo.src.post.model.GetPostsRes;
+import com.example.demo.src.post.model.GetPostsPageRes;
 import com.example.demo.src.post.model.PatchPostsReq;
+import com.example.demo.src.post.model.PostPostsBulkRes;
 import com.example.demo.src.post.model.PostPostsReq;
 import com.example.demo.src.post.model.PostPostsRes;
+import com.example.demo.utils.ContentVersions;
 import com.example.demo.utils.JwtService;
+import com.example.demo.utils.RequestValidators;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -20,29 +37,60 @@ import java.util.List;
 public class PostController {
     final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    // 한 번에 조회 가능한 최대 게시물 수
+    private static final int MAX_POSTS_LIMIT = 100;
+
     @Autowired
     private final PostProvider postProvider;
     @Autowired
     private final PostService postService;
     @Autowired
     private final JwtService jwtService;
+    @Autowired
+    private final ObjectMapper objectMapper;
+
+    // 대량 생성 시 한 번에 저장하는 게시물 수
+    private final int bulkBatchSize;
 
 
-    public PostController(PostProvider postProvider, PostService postService, JwtService jwtService) {
+    public PostController(PostProvider postProvider, PostService postService, JwtService jwtService, ObjectMapper objectMapper,
+                          @Value("${post.bulk.batch-size:500}") int bulkBatchSize) {
         this.postProvider = postProvider;
         this.postService = postService;
         this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.bulkBatchSize = bulkBatchSize;
     }
 
-    // 전체 게시물 조회
+    // 전체 게시물 조회 (최신순, cursor 기반 페이지네이션)
     @ResponseBody
-    @GetMapping("") // http://localhost:9000/posts?userIdx=1
-    public BaseResponse<List<GetPostsRes>> getPosts(@RequestParam int userIdx) {
+    @GetMapping("") // http://localhost:9000/posts?userIdx=1&limit=20&cursor=cDEy
+    public BaseResponse<GetPostsPageRes> getPosts(@RequestParam int userIdx,
+                                                  @RequestParam(defaultValue = "20") int limit,
+                                                  @RequestParam(required = false) String cursor,
+                                                  ServletWebRequest webRequest) {
         try{
+            if (limit < 1 || limit > MAX_POSTS_LIMIT) {
+                return new BaseResponse<>(BaseResponseStatus.POSTS_INVALID_LIMIT);
+            }
+
+            int cursorPostIdx = PostCursor.decode(cursor);
+            if (cursorPostIdx < 0) {
+                return new BaseResponse<>(BaseResponseStatus.POSTS_INVALID_CURSOR);
+            }
 
-            List<GetPostsRes> getPostsRes = postProvider.retrievePosts(userIdx);
+            // 본인 + 팔로우 한 유저들의 콘텐츠가 바뀌지 않았으면 게시물 조회 / 직렬화 없이 304
+            long stamp = postProvider.getPostsStamp(userIdx);
+            if (stamp != ContentVersions.UNSTABLE
+                    && webRequest.checkNotModified("p" + Long.toHexString(stamp) + "-" + cursorPostIdx + "-" + limit)) {
+                return null;
+            }
+
+            GetPostsPageRes getPostsRes = postProvider.retrievePosts(userIdx, cursorPostIdx, limit, stamp);
             return new BaseResponse<>(getPostsRes);
         } catch(BaseException exception){
+            // 실패 응답은 저장되지 않게 해서 ETag 로 재사용되지 않도록
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
             return new BaseResponse<>((exception.getStatus()));
         }
     }
@@ -57,12 +105,9 @@ public class PostController {
                 return new BaseResponse<>(BaseResponseStatus.INVALID_USER_JWT);
             }
 
-            if (postPostsReq.getContent().length() > 450) {
-                return new BaseResponse<>(BaseResponseStatus.POST_POSTS_INVALID_CONTENTS);
-            }
-
-            if (postPostsReq.getPostImgUrls().size() < 1) {
-                return new BaseResponse<>(BaseResponseStatus.POST_POSTS_EMPTY_IMGURL);
+            BaseResponseStatus status = RequestValidators.POST_POSTS_REQ.validate(postPostsReq);
+            if (!status.isSuccess()) {
+                return new BaseResponse<>(status);
             }
 
             PostPostsRes postPostsRes = postService.createPosts(postPostsReq.getUserIdx(), postPostsReq);
@@ -72,13 +117,115 @@ public class PostController {
         }
     }
 
+    /**
+     * 게시물 대량 생성 API (다른 서비스의 게시물 이전 / 백필 용도)
+     * [POST] /posts/bulk
+     * 요청 본문은 PostPostsReq 의 JSON 배열 또는 NDJSON 이며, 본문 전체를 메모리에 올리지 않고 하나씩 읽어서 bulkBatchSize 개씩 저장한다.
+     * 응답의 result 에는 게시물별 결과(PostPostsBulkRes)를 저장하는 대로 이어서 쓴다.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"}) // http://localhost:9000/posts/bulk
+    public void createPostsBulk(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        int userIdxByJwt;
+        try{
+            userIdxByJwt = jwtService.getUserIdx();
+        } catch(BaseException exception){
+            objectMapper.writeValue(response.getOutputStream(), new BaseResponse<>(exception.getStatus()));
+            return;
+        }
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(request.getInputStream());
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeBooleanField("isSuccess", BaseResponseStatus.SUCCESS.isSuccess());
+            generator.writeNumberField("code", BaseResponseStatus.SUCCESS.getCode());
+            generator.writeStringField("message", BaseResponseStatus.SUCCESS.getMessage());
+            generator.writeArrayFieldStart("result");
+
+            List<PostPostsReq> postPostsReqs = new ArrayList<>(bulkBatchSize);
+            List<PostPostsBulkRes> postPostsBulkRes = new ArrayList<>(bulkBatchSize);
+            int index = 0;
+            try {
+                // JSON 배열이면 배열 안의 객체를, NDJSON 이면 최상위 객체를 차례로 읽는다
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_ARRAY) {
+                    token = parser.nextToken();
+                }
+                while (token != null && token != JsonToken.END_ARRAY) {
+                    PostPostsReq postPostsReq = objectMapper.readValue(parser, PostPostsReq.class);
+                    BaseResponseStatus status = validateBulkPost(postPostsReq, userIdxByJwt);
+                    if (status == null) {
+                        postPostsReqs.add(postPostsReq);
+                        status = BaseResponseStatus.SUCCESS;
+                    }
+                    postPostsBulkRes.add(new PostPostsBulkRes(index++, status.isSuccess(), status.getCode(), status.getMessage(), null));
+
+                    if (postPostsBulkRes.size() >= bulkBatchSize) {
+                        flushBulkPosts(postPostsReqs, postPostsBulkRes, generator);
+                    }
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException exception) {
+                // 잘못된 JSON 이후는 읽을 수 없으므로, 그 전까지 저장하고 해당 위치에 REQUEST_ERROR 를 남긴다
+                flushBulkPosts(postPostsReqs, postPostsBulkRes, generator);
+                postPostsBulkRes.add(new PostPostsBulkRes(index, false, BaseResponseStatus.REQUEST_ERROR.getCode(), BaseResponseStatus.REQUEST_ERROR.getMessage(), null));
+            }
+            flushBulkPosts(postPostsReqs, postPostsBulkRes, generator);
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    // 게시물 생성 API 와 같은 형식적 Validation
+    private BaseResponseStatus validateBulkPost(PostPostsReq postPostsReq, int userIdxByJwt) {
+        if (postPostsReq.getUserIdx() != userIdxByJwt) {
+            return BaseResponseStatus.INVALID_USER_JWT;
+        }
+        BaseResponseStatus status = RequestValidators.POST_POSTS_REQ.validate(postPostsReq);
+        return status.isSuccess() ? null : status;
+    }
+
+    // 모아둔 게시물을 저장하고, 결과를 응답에 이어서 쓴다
+    private void flushBulkPosts(List<PostPostsReq> postPostsReqs, List<PostPostsBulkRes> postPostsBulkRes, JsonGenerator generator) throws IOException {
+        if (!postPostsReqs.isEmpty()) {
+            try{
+                int[] postIdxs = postService.createPostsBulk(postPostsReqs);
+                int i = 0;
+                for (PostPostsBulkRes postPostsBulk : postPostsBulkRes) {
+                    if (postPostsBulk.isSuccess()) {
+                        postPostsBulk.setPostIdx(postIdxs[i++]);
+                    }
+                }
+            } catch(BaseException exception){
+                for (PostPostsBulkRes postPostsBulk : postPostsBulkRes) {
+                    if (postPostsBulk.isSuccess()) {
+                        postPostsBulk.setSuccess(false);
+                        postPostsBulk.setCode(exception.getStatus().getCode());
+                        postPostsBulk.setMessage(exception.getStatus().getMessage());
+                    }
+                }
+            }
+        }
+
+        for (PostPostsBulkRes postPostsBulk : postPostsBulkRes) {
+            objectMapper.writeValue(generator, postPostsBulk);
+        }
+        generator.flush();
+        postPostsReqs.clear();
+        postPostsBulkRes.clear();
+    }
+
     // 게시물 수정
     @ResponseBody
     @PatchMapping ("/{postIdx}") // http://localhost:9000/posts/6
     public BaseResponse<String> modifyPost(@PathVariable("postIdx") int postIdx, @RequestBody PatchPostsReq patchPostsReq) {
         try{
-            if (patchPostsReq.getContent().length() > 450) {
-                return new BaseResponse<>(BaseResponseStatus.POST_POSTS_INVALID_CONTENTS);
+            BaseResponseStatus status = RequestValidators.PATCH_POSTS_REQ.validate(patchPostsReq);
+            if (!status.isSuccess()) {
+                return new BaseResponse<>(status);
             }
 
             postService.modifyPost(patchPostsReq.getUserIdx(), postIdx, patchPostsReq);
@@ -115,4 +262,32 @@ public class PostController {
         }
     }
 
-}
\ No newline at end of file
+    // 게시물 좋아요
+    @ResponseBody
+    @PostMapping ("/{postIdx}/likes") // http://localhost:9000/posts/1/likes
+    public BaseResponse<String> likePost(@PathVariable("postIdx") int postIdx) {
+        try{
+            int userIdx = jwtService.getUserIdx();
+            boolean changed = postService.likePost(userIdx, postIdx, true);
+            String result = changed ? "게시물 좋아요를 완료하였습니다." : "이미 좋아요 한 게시물입니다.";
+            return new BaseResponse<>(result);
+        } catch(BaseException exception){
+            return new BaseResponse<>((exception.getStatus()));
+        }
+    }
+
+    // 게시물 좋아요 취소
+    @ResponseBody
+    @DeleteMapping ("/{postIdx}/likes") // http://localhost:9000/posts/1/likes
+    public BaseResponse<String> unlikePost(@PathVariable("postIdx") int postIdx) {
+        try{
+            int userIdx = jwtService.getUserIdx();
+            boolean changed = postService.likePost(userIdx, postIdx, false);
+            String result = changed ? "게시물 좋아요 취소를 완료하였습니다." : "좋아요 하지 않은 게시물입니다.";
+            return new BaseResponse<>(result);
+        } catch(BaseException exception){
+            return new BaseResponse<>((exception.getStatus()));
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.example.demo.src.post;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 메인 피드 keyset 페이지네이션 커서
+ * 클라이언트에는 마지막으로 받은 게시물의 postIdx 를 감싼 불투명한 문자열로 전달한다.
+ */
+public class PostCursor {
+    private static final String PREFIX = "p";
+
+    // 첫 페이지 (cursor 가 없는 경우)
+    public static final int FIRST_PAGE = Integer.MAX_VALUE;
+
+    private PostCursor() {
+    }
+
+    public static String encode(int lastPostIdx) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastPostIdx).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+    cursor 에서 postIdx 추출
+    @return int, 잘못된 cursor 면 -1
+     */
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                return -1;
+            }
+            int postIdx = Integer.parseInt(decoded.substring(PREFIX.length()));
+            return postIdx > 0 ? postIdx : -1;
+        } catch (IllegalArgumentException exception) {
+            return -1;
+        }
+    }
+}
@@ -3,100 +3,268 @@ package com.example.demo.src.post;
 import com.example.demo.src.post.model.GetPostImgRes;
 import com.example.demo.src.post.model.GetPostsRes;
 import com.example.demo.src.post.model.PostImgUrlsReq;
+import com.example.demo.src.post.model.PostPostsReq;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 
 @Repository
 public class PostDao {
 
     private JdbcTemplate jdbcTemplate;
-    private List<GetPostImgRes> getPostImgRes;
 
     @Autowired
     public void setDataSource(DataSource dataSource) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
     }
 
-    // 유저가 팔로우 한 유저들의 게시물들 (메인 화면)
-    public List<GetPostsRes> selectPosts(int userIdx){
-        String selectPostsQuery = "SELECT p.postIdx as postIdx,\n" +
-                "                            u.userIdx as userIdx,\n" +
-                "                            u.nickName as nickName,\n" +
-                "                            u.profileImgUrl as profileImgUrl,\n" +
-                "                            p.content as content,\n" +
-                "                            IF(postLikeCount is null, 0, postLikeCount) as postLikeCount,\n" +
-                "                            IF(commentCount is null, 0, commentCount) as commentCount,\n" +
-                "                            case when timestampdiff(second, p.updatedAt, current_timestamp) < 60\n" +
-                "                                    then concat(timestampdiff(second, p.updatedAt, current_timestamp), '초 전')\n" +
-                "                                when timestampdiff(minute , p.updatedAt, current_timestamp) < 60\n" +
-                "                                    then concat(timestampdiff(minute, p.updatedAt, current_timestamp), '분 전')\n" +
-                "                                when timestampdiff(hour , p.updatedAt, current_timestamp) < 24\n" +
-                "                                    then concat(timestampdiff(hour, p.updatedAt, current_timestamp), '시간 전')\n" +
-                "                                when timestampdiff(day , p.updatedAt, current_timestamp) < 365\n" +
-                "                                    then concat(timestampdiff(day, p.updatedAt, current_timestamp), '일 전')\n" +
-                "                                else timestampdiff(year , p.updatedAt, current_timestamp)\n" +
-                "                            end as updatedAt,\n" +
-                "                            IF(pl.status = 'ACTIVE', 'Y', 'N') as likeOrNot\n" +
+    // 메인 화면 게시물 조회 시 공통으로 사용하는 컬럼
+    // updatedAt 은 그대로 조회하고 "N분 전" 표시는 응답 시점에 만든다 (GetPostsRes.getUpdatedAt)
+    // likeOrNot 은 PostLike join 없이 LikedPostIndex 로 채운다 (PostProvider)
+    private static final String selectPostsColumns = "SELECT p.postIdx as postIdx,\n" +
+            "                            u.userIdx as userIdx,\n" +
+            "                            u.nickName as nickName,\n" +
+            "                            u.profileImgUrl as profileImgUrl,\n" +
+            "                            p.content as content,\n" +
+            "                            IFNULL(pc.postLikeCount, 0) as postLikeCount,\n" +
+            "                            IFNULL(pc.commentCount, 0) as commentCount,\n" +
+            "                            p.updatedAt as updatedAt,\n" +
+            "                            'N' as likeOrNot\n";
+
+    // JMH 벤치마크(PostDaoRowMapperBenchmark)에서 접근하도록 package-private
+    static final RowMapper<GetPostsRes> postsRowMapper = (rs, rowNum) -> new GetPostsRes(
+            rs.getInt("postIdx"),
+            rs.getInt("userIdx"),
+            rs.getString("nickName"),
+            rs.getString("profileImgUrl"),
+            rs.getString("content"),
+            rs.getInt("postLikeCount"),
+            rs.getInt("commentCount"),
+            rs.getTimestamp("updatedAt").getTime(),
+            rs.getString("likeOrNot"),
+            null
+    );
+
+    // 유저가 팔로우 한 유저들의 게시물들 (메인 화면), 팔로우 한 유저들은 FollowGraph 에서 받는다 (Follow join X)
+    // postIdx 기준 keyset 페이지네이션 : cursorPostIdx 보다 작은 게시물을 최신순으로 limit 개 조회 (OFFSET 사용 X)
+    public List<GetPostsRes> selectPosts(int[] followeeIdxs, int cursorPostIdx, int limit){
+        if (followeeIdxs.length == 0) {
+            return new ArrayList<>();
+        }
+
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        Object[] selectPostsParams = new Object[followeeIdxs.length + 2];
+        for (int i = 0; i < followeeIdxs.length; i++) {
+            placeholders.add("?");
+            selectPostsParams[i] = followeeIdxs[i];
+        }
+        selectPostsParams[followeeIdxs.length] = cursorPostIdx;
+        selectPostsParams[followeeIdxs.length + 1] = limit;
+
+        String selectPostsQuery = selectPostsColumns +
                 "                        FROM Post as p\n" +
                 "                            join User as u on u.userIdx = p.userIdx\n" +
-                "                            left join (select postIdx, userIdx, count(postLikeidx) as postLikeCount from PostLike WHERE status = 'ACTIVE' group by postIdx) plc on plc.postIdx = p.postIdx\n" +
-                "                            left join (select postIdx, count(commentIdx) as commentCount from Comment WHERE status = 'ACTIVE' group by postIdx) c on c.postIdx = p.postIdx\n" +
-                "                            left join Follow as f on f.followeeIdx = p.userIdx and f.status = 'ACTIVE'\n" +
-                "                            left join PostLike as pl on pl.userIdx = f.followerIdx and pl.postIdx = p.postIdx\n" +
-                "                        WHERE f.followerIdx = ? and p.status = 'ACTIVE'\n" +
-                "                        group by p.postIdx;";
-        int selectPostsParam = userIdx;
+                "                            left join PostCount as pc on pc.postIdx = p.postIdx\n" +
+                "                        WHERE p.userIdx in " + placeholders + " and p.status = 'ACTIVE' and p.postIdx < ?\n" +
+                "                        order by p.postIdx desc\n" +
+                "                        limit ?;";
         // 객체는 queryForObject, 리스트 형태는 query
-        return this.jdbcTemplate.query(selectPostsQuery,
-                (rs,rowNum) -> new GetPostsRes(
-                        rs.getInt("postIdx"),
-                        rs.getInt("userIdx"),
-                        rs.getString("nickName"),
-                        rs.getString("profileImgUrl"),
-                        rs.getString("content"),
-                        rs.getInt("postLikeCount"),
-                        rs.getInt("commentCount"),
-                        rs.getString("updatedAt"),
-                        rs.getString("likeOrNot"),
-                        getPostImgRes = this.jdbcTemplate.query("SELECT pi.postImgUrlIdx,\n"+
-                                        "            pi.imgUrl\n" +
-                                        "        FROM PostImgUrl as pi\n" +
-                                        "            join Post as p on p.postIdx = pi.postIdx\n" +
-                                        "        WHERE pi.status = 'ACTIVE' and p.postIdx = ?;\n",
-                                (rk, rownum) -> new GetPostImgRes(
-                                        rk.getInt("postImgUrlIdx"),
-                                        rk.getString("imgUrl")
-                                ), rs.getInt("postIdx") // 파라미터 자리 = ? 안에 들어갈 것
-                        )
-                ), selectPostsParam);
-    }
-
-    // 게시물 생성
+        List<GetPostsRes> getPosts = this.jdbcTemplate.query(selectPostsQuery, postsRowMapper, selectPostsParams);
+        return attachPostImgs(getPosts);
+    }
+
+    // 타임라인에 저장된 postIdx 들로 게시물 조회 (최신순)
+    public List<GetPostsRes> selectPostsByIdxs(int[] postIdxs){
+        if (postIdxs.length == 0) {
+            return new ArrayList<>();
+        }
+
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        Object[] selectPostsParams = new Object[postIdxs.length];
+        for (int i = 0; i < postIdxs.length; i++) {
+            placeholders.add("?");
+            selectPostsParams[i] = postIdxs[i];
+        }
+
+        String selectPostsQuery = selectPostsColumns +
+                "                        FROM Post as p\n" +
+                "                            join User as u on u.userIdx = p.userIdx\n" +
+                "                            left join PostCount as pc on pc.postIdx = p.postIdx\n" +
+                "                        WHERE p.postIdx in " + placeholders + " and p.status = 'ACTIVE'\n" +
+                "                        order by p.postIdx desc;";
+        List<GetPostsRes> getPosts = this.jdbcTemplate.query(selectPostsQuery, postsRowMapper, selectPostsParams);
+        return attachPostImgs(getPosts);
+    }
+
+    // 게시물 이미지는 게시물마다 조회하지 않고 한 번에 조회해서 postIdx 별로 묶는다
+    private List<GetPostsRes> attachPostImgs(List<GetPostsRes> getPosts){
+        Map<Integer, List<GetPostImgRes>> getPostImgs = selectPostImgs(getPosts);
+        for (GetPostsRes getPost : getPosts) {
+            getPost.setImgs(getPostImgs.getOrDefault(getPost.getPostIdx(), new ArrayList<>()));
+        }
+        return getPosts;
+    }
+
+    // 유저 타임라인을 채울 postIdx 들 (팔로우 한 유저들의 최신 게시물 limit 개)
+    public List<Integer> selectTimelinePostIdxs(int[] followeeIdxs, int limit){
+        if (followeeIdxs.length == 0) {
+            return new ArrayList<>();
+        }
+
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        Object[] selectTimelineParams = new Object[followeeIdxs.length + 1];
+        for (int i = 0; i < followeeIdxs.length; i++) {
+            placeholders.add("?");
+            selectTimelineParams[i] = followeeIdxs[i];
+        }
+        selectTimelineParams[followeeIdxs.length] = limit;
+
+        String selectTimelineQuery = "SELECT p.postIdx\n" +
+                "        FROM Post as p\n" +
+                "        WHERE p.userIdx in " + placeholders + " and p.status = 'ACTIVE'\n" +
+                "        ORDER BY p.postIdx desc\n" +
+                "        LIMIT ?;";
+        return this.jdbcTemplate.queryForList(selectTimelineQuery, Integer.class, selectTimelineParams);
+    }
+
+    // 게시물 상태 (삭제 시 카운트 갱신 여부 판단), 트랜잭션이 끝날 때까지 해당 게시물 행을 잠근다
+    public String selectPostStatusForUpdate(int postIdx){
+        String selectPostStatusQuery = "SELECT status FROM Post WHERE postIdx = ? FOR UPDATE";
+        int selectPostStatusParam = postIdx;
+        return this.jdbcTemplate.queryForObject(selectPostStatusQuery,
+                String.class,
+                selectPostStatusParam);
+    }
+
+    // 게시물 작성자
+    public int selectPostUserIdx(int postIdx){
+        String selectPostUserIdxQuery = "SELECT userIdx FROM Post WHERE postIdx = ?";
+        int selectPostUserIdxParam = postIdx;
+        return this.jdbcTemplate.queryForObject(selectPostUserIdxQuery,
+                int.class,
+                selectPostUserIdxParam);
+    }
+
+    // 게시물들의 작성자 (중복 제거)
+    public List<Integer> selectPostUserIdxs(Collection<Integer> postIdxs){
+        if (postIdxs.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < postIdxs.size(); i++) {
+            placeholders.add("?");
+        }
+        String selectPostUserIdxsQuery = "SELECT DISTINCT userIdx FROM Post WHERE postIdx in " + placeholders;
+        return this.jdbcTemplate.queryForList(selectPostUserIdxsQuery, Integer.class, postIdxs.toArray());
+    }
+
+    // 게시물들의 이미지를 한 번의 쿼리로 조회 (postIdx -> 이미지 목록)
+    public Map<Integer, List<GetPostImgRes>> selectPostImgs(List<GetPostsRes> getPosts){
+        Map<Integer, List<GetPostImgRes>> getPostImgs = new HashMap<>();
+        if (getPosts.isEmpty()) {
+            return getPostImgs;
+        }
+
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        Object[] selectPostImgsParams = new Object[getPosts.size()];
+        for (int i = 0; i < getPosts.size(); i++) {
+            placeholders.add("?");
+            selectPostImgsParams[i] = getPosts.get(i).getPostIdx();
+        }
+
+        String selectPostImgsQuery = "SELECT pi.postIdx,\n" +
+                "            pi.postImgUrlIdx,\n" +
+                "            pi.imgUrl\n" +
+                "        FROM PostImgUrl as pi\n" +
+                "        WHERE pi.status = 'ACTIVE' and pi.postIdx in " + placeholders + "\n" +
+                "        ORDER BY pi.postIdx, pi.postImgUrlIdx;";
+        this.jdbcTemplate.query(selectPostImgsQuery,
+                rs -> {
+                    getPostImgs.computeIfAbsent(rs.getInt("postIdx"), postIdx -> new ArrayList<>())
+                            .add(new GetPostImgRes(
+                                    rs.getInt("postImgUrlIdx"),
+                                    rs.getString("imgUrl")
+                            ));
+                }, selectPostImgsParams);
+        return getPostImgs;
+    }
+
+    // 게시물 생성 : 생성된 postIdx 는 JDBC generated key 로 받는다 (last_insert_id() 조회 X)
     public int insertPosts(int userIdx, String content){
         String insertPostQuery = "INSERT INTO Post(userIdx, content) VALUES (?, ?)";
-        Object[] insertPostParams = new Object[] {userIdx, content};
-        this.jdbcTemplate.update(insertPostQuery,
-                insertPostParams);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        this.jdbcTemplate.update(connection -> {
+            PreparedStatement insertPostStatement = connection.prepareStatement(insertPostQuery, Statement.RETURN_GENERATED_KEYS);
+            insertPostStatement.setInt(1, userIdx);
+            insertPostStatement.setString(2, content);
+            return insertPostStatement;
+        }, keyHolder);
 
         // 방금 넣은 post의 idx 값을 다시 클라이언트에게 전달 (return)
-        String lastInsertIdxQuery = "SELECT last_insert_id()";
-        return this.jdbcTemplate.queryForObject(lastInsertIdxQuery, int.class);
+        return keyHolder.getKey().intValue();
     }
 
-    // 게시물 생성 시, 게시글 이미지도 같이 insert
-    public int insertPostImgs(int postIdx, PostImgUrlsReq postImgUrl){
+    // 게시물 생성 시, 게시글 이미지도 같이 insert (한 번의 batch 로 실행)
+    public int[] insertPostImgs(int postIdx, List<PostImgUrlsReq> postImgUrls){
         String insertPostImgsQuery = "INSERT INTO PostImgUrl(postIdx, imgUrl) VALUES (?, ?)";
-        Object[] insertPostImgsParams = new Object[] {postIdx, postImgUrl.getImgUrl()};
-        this.jdbcTemplate.update(insertPostImgsQuery,
+        List<Object[]> insertPostImgsParams = new ArrayList<>(postImgUrls.size());
+        for (PostImgUrlsReq postImgUrl : postImgUrls) {
+            insertPostImgsParams.add(new Object[] {postIdx, postImgUrl.getImgUrl()});
+        }
+        return this.jdbcTemplate.batchUpdate(insertPostImgsQuery,
                 insertPostImgsParams);
+    }
 
-        // 방금 넣은 post의 idx 값을 다시 클라이언트에게 전달 (return)
-        String lastInsertIdxQuery = "SELECT last_insert_id()";
-        return this.jdbcTemplate.queryForObject(lastInsertIdxQuery, int.class);
+    // 게시물 여러 개를 한 번의 batch 로 생성, 생성된 postIdx 들을 순서대로 돌려준다
+    public int[] insertPostsBatch(List<PostPostsReq> postPostsReqs){
+        String insertPostQuery = "INSERT INTO Post(userIdx, content) VALUES (?, ?)";
+        return this.jdbcTemplate.execute((ConnectionCallback<int[]>) connection -> {
+            try (PreparedStatement insertPostStatement = connection.prepareStatement(insertPostQuery, Statement.RETURN_GENERATED_KEYS)) {
+                for (PostPostsReq postPostsReq : postPostsReqs) {
+                    insertPostStatement.setInt(1, postPostsReq.getUserIdx());
+                    insertPostStatement.setString(2, postPostsReq.getContent());
+                    insertPostStatement.addBatch();
+                }
+                insertPostStatement.executeBatch();
+
+                int[] postIdxs = new int[postPostsReqs.size()];
+                try (ResultSet generatedKeys = insertPostStatement.getGeneratedKeys()) {
+                    for (int i = 0; i < postIdxs.length && generatedKeys.next(); i++) {
+                        postIdxs[i] = generatedKeys.getInt(1);
+                    }
+                }
+                return postIdxs;
+            }
+        });
+    }
+
+    // 여러 게시물의 이미지를 한 번의 batch 로 생성
+    public int[] insertPostImgsBatch(int[] postIdxs, List<PostPostsReq> postPostsReqs){
+        String insertPostImgsQuery = "INSERT INTO PostImgUrl(postIdx, imgUrl) VALUES (?, ?)";
+        List<Object[]> insertPostImgsParams = new ArrayList<>();
+        for (int i = 0; i < postIdxs.length; i++) {
+            for (PostImgUrlsReq postImgUrl : postPostsReqs.get(i).getPostImgUrls()) {
+                insertPostImgsParams.add(new Object[] {postIdxs[i], postImgUrl.getImgUrl()});
+            }
+        }
+        return this.jdbcTemplate.batchUpdate(insertPostImgsQuery,
+                insertPostImgsParams);
     }
 
     // 게시물 수정
@@ -125,6 +293,25 @@ public class PostDao {
                 deletePostParams);
     }
 
+    // 좋아요 상태 저장 : (userIdx, postIdx) 유니크 키로 없으면 생성, 있으면 상태만 변경 (한 번의 batch 로 실행)
+    public int[] upsertPostLikes(List<PostLikeBuffer.PendingLike> pendingLikes){
+        String upsertPostLikeQuery = "INSERT INTO PostLike(userIdx, postIdx, status) VALUES (?, ?, ?)\n" +
+                "        ON DUPLICATE KEY UPDATE status = VALUES(status), updatedAt = CURRENT_TIMESTAMP";
+        List<Object[]> upsertPostLikeParams = new ArrayList<>(pendingLikes.size());
+        for (PostLikeBuffer.PendingLike pendingLike : pendingLikes) {
+            upsertPostLikeParams.add(new Object[] {pendingLike.getUserIdx(), pendingLike.getPostIdx(), pendingLike.isLiked() ? "ACTIVE" : "INACTIVE"});
+        }
+        return this.jdbcTemplate.batchUpdate(upsertPostLikeQuery,
+                upsertPostLikeParams);
+    }
+
+    // 유저가 좋아요 한 게시물들 (LikedPostIndex)
+    public List<Integer> selectLikedPostIdxs(int userIdx){
+        String selectLikedPostsQuery = "SELECT postIdx FROM PostLike WHERE userIdx = ? and status = 'ACTIVE' ORDER BY postIdx";
+        int selectLikedPostsParam = userIdx;
+        return this.jdbcTemplate.queryForList(selectLikedPostsQuery, Integer.class, selectLikedPostsParam);
+    }
+
     // 존재하는 유저인지 확인
     public int checkUserExist(int userIdx){
         String checkUserExistQuery = "select exists(select userIdx from User where userIdx = ?)";
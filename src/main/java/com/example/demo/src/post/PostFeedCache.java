@@ -0,0 +1,74 @@
+package com.example.demo.src.post;
+
+import com.example.demo.src.internal.model.GetCacheStatsRes;
+import com.example.demo.src.post.model.GetPostsPageRes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메인 화면 (GET /posts) 페이지 캐시
+ * 조회 결과에 현재 시각이 들어가지 않으므로("N분 전"은 응답 시점에 계산) 같은 페이지를 재사용한다.
+ * key 에 본인 + 팔로우 한 유저들의 콘텐츠 stamp(ContentVersions)가 들어가므로 게시물 / 카운트가 바뀌면 새 key 로 다시 조회되고,
+ * 이전 key 의 값은 TTL 이 지나면 정리된다.
+ */
+@Component
+public class PostFeedCache {
+
+    private final Cache<PageKey, GetPostsPageRes> feedPages;
+
+    @Autowired
+    public PostFeedCache(@Value("${post.feed-cache.max-size:10000}") long maxSize,
+                         @Value("${post.feed-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.feedPages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public GetPostsPageRes getIfPresent(int userIdx, long stamp, int cursorPostIdx, int limit) {
+        return feedPages.getIfPresent(new PageKey(userIdx, stamp, cursorPostIdx, limit));
+    }
+
+    // 캐시되는 값은 여러 요청이 공유하므로 넣은 뒤에는 수정하지 않는다
+    public void put(int userIdx, long stamp, int cursorPostIdx, int limit, GetPostsPageRes getPostsPageRes) {
+        feedPages.put(new PageKey(userIdx, stamp, cursorPostIdx, limit), getPostsPageRes);
+    }
+
+    public GetCacheStatsRes getCacheStats() {
+        return GetCacheStatsRes.of("postFeed", feedPages.estimatedSize(), feedPages.stats());
+    }
+
+    static final class PageKey {
+        private final int userIdx;
+        private final long stamp;
+        private final int cursorPostIdx;
+        private final int limit;
+
+        PageKey(int userIdx, long stamp, int cursorPostIdx, int limit) {
+            this.userIdx = userIdx;
+            this.stamp = stamp;
+            this.cursorPostIdx = cursorPostIdx;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof PageKey)) {
+                return false;
+            }
+            PageKey other = (PageKey) object;
+            return userIdx == other.userIdx && stamp == other.stamp && cursorPostIdx == other.cursorPostIdx && limit == other.limit;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((userIdx * 31 + Long.hashCode(stamp)) * 31 + cursorPostIdx) * 31 + limit;
+        }
+    }
+}
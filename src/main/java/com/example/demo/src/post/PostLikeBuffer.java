@@ -0,0 +1,206 @@
+package com.example.demo.src.post;
+
+import com.example.demo.config.BaseException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+
+import static com.example.demo.config.BaseResponseStatus.POSTS_LIKE_BUSY;
+
+/**
+ * 좋아요 write-behind 버퍼
+ * 좋아요 / 취소는 DB 에 바로 쓰지 않고 (userIdx, postIdx) 별 마지막 상태(dirty set)와 게시물별 좋아요 수 변화량(LongAdder)으로 모아 두고,
+ * PostLikeFlusher 가 주기적으로 한 트랜잭션에 batch 로 저장한다.
+ * 인기 게시물에 좋아요가 몰려도 요청 스레드끼리는 LongAdder 의 서로 다른 칸을 갱신하고, PostCount 행은 flush 마다 한 번만 갱신된다.
+ * 서버가 비정상 종료되면 마지막 flush 이후의 좋아요는 사라질 수 있다 (최대 post.like.flush-interval-ms, post.like.max-pending 건).
+ */
+@Component
+public class PostLikeBuffer {
+
+    private final ConcurrentHashMap<Long, PendingLike> pendingLikes = new ConcurrentHashMap<>();
+    private volatile Generation generation = new Generation();
+    private final int maxPending;
+    // committed 횟수 : record 가 상태를 조회하는 동안 저장된 좋아요가 있었는지 확인 (committed 와 record 의 기록은 이 lock 으로 겹치지 않는다)
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+    private volatile long commits;
+
+    @Autowired
+    public PostLikeBuffer(@Value("${post.like.max-pending:100000}") int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    /*
+    좋아요 / 취소 기록
+    대기 중인 변경이 없으면 likedBefore 로 현재 상태를 조회한 뒤 (ConcurrentHashMap 의 lock 을 잡지 않고) putIfAbsent / replace 로 기록하고,
+    그 사이에 다른 요청이 기록했거나 flush 가 저장을 마쳤으면 다시 시도한다.
+    @param likedBefore 대기 중인 변경이 없을 때 현재 상태 조회 (다시 시도하면 여러 번 호출될 수 있다)
+    @return 좋아요 상태가 바뀌었으면 true, 이미 같은 상태면 false
+     */
+    public boolean record(int userIdx, int postIdx, boolean liked, BooleanSupplier likedBefore) throws BaseException {
+        long key = key(userIdx, postIdx);
+        // 동시에 들어온 요청끼리는 maxPending 을 조금 넘을 수 있다 (메모리 상한 용도라 정확할 필요는 없음)
+        if (pendingLikes.size() >= maxPending && !pendingLikes.containsKey(key)) {
+            throw new BaseException(POSTS_LIKE_BUSY);
+        }
+
+        while (true) {
+            PendingLike pending = pendingLikes.get(key);
+            if (pending != null) {
+                if (pending.isLiked() == liked) {
+                    return false;
+                }
+                // flush 가 저장한 값과 구분할 수 있도록 상태가 바뀌면 새 객체로 바꾼다
+                if (pendingLikes.replace(key, pending, new PendingLike(userIdx, postIdx, liked))) {
+                    addLikeCountDelta(postIdx, liked ? 1 : -1);
+                    return true;
+                }
+                continue;
+            }
+
+            long commitsBefore = commits;
+            boolean previous = likedBefore.getAsBoolean();
+            // 조회하는 동안 저장이 끝난 좋아요가 있으면 조회한 상태가 이미 지난 값일 수 있으므로 다시 조회한다
+            Lock lock = commitLock.readLock();
+            lock.lock();
+            try {
+                if (commits != commitsBefore) {
+                    continue;
+                }
+                if (previous == liked) {
+                    return false;
+                }
+                if (pendingLikes.putIfAbsent(key, new PendingLike(userIdx, postIdx, liked)) != null) {
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+            }
+            addLikeCountDelta(postIdx, liked ? 1 : -1);
+            return true;
+        }
+    }
+
+    /*
+    저장할 내용 꺼내기 : 좋아요 수 변화량은 새 Generation 으로 넘기고, 좋아요 상태는 committed 가 호출될 때까지 남겨 둔다
+    한 번에 하나의 스레드(PostLikeFlusher)에서만 호출한다
+     */
+    public Batch drain() {
+        Generation drained = generation;
+        generation = new Generation();
+        // 이전 Generation 에 더하는 중인 스레드가 끝날 때까지 기다린다 (LongAdder 한 번 갱신하는 시간)
+        while (drained.writers.sum() != 0) {
+            Thread.yield();
+        }
+
+        // 여러 서버가 같은 행을 갱신할 때 교착 상태가 생기지 않도록 key 순서로 저장
+        Map<Integer, Long> likeCountDeltas = new TreeMap<>();
+        drained.likeCountDeltas.forEach((postIdx, delta) -> {
+            long sum = delta.sum();
+            if (sum != 0) {
+                likeCountDeltas.put(postIdx, sum);
+            }
+        });
+        List<PendingLike> likes = new ArrayList<>(pendingLikes.values());
+        likes.sort(Comparator.comparingLong(pendingLike -> key(pendingLike.getUserIdx(), pendingLike.getPostIdx())));
+        return new Batch(likes, likeCountDeltas);
+    }
+
+    // 저장 완료 : 저장한 뒤에 다시 바뀐 상태는 남겨서 다음 flush 에 저장한다
+    public void committed(Batch batch) {
+        Lock lock = commitLock.writeLock();
+        lock.lock();
+        try {
+            commits++;
+            for (PendingLike pendingLike : batch.getLikes()) {
+                pendingLikes.remove(key(pendingLike.getUserIdx(), pendingLike.getPostIdx()), pendingLike);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 저장 실패 : 좋아요 수 변화량을 되돌려서 다음 flush 에 다시 저장한다 (좋아요 상태는 그대로 남아 있다)
+    public void restore(Batch batch) {
+        batch.getLikeCountDeltas().forEach(this::addLikeCountDelta);
+    }
+
+    // 유저의 저장 대기 중인 좋아요 상태 (LikedPostIndex 를 채울 때 사용, 대기 중인 전체를 훑으므로 최대 post.like.max-pending 건)
+    public List<PendingLike> pendingLikes(int userIdx) {
+        List<PendingLike> likes = new ArrayList<>();
+        for (PendingLike pendingLike : pendingLikes.values()) {
+            if (pendingLike.getUserIdx() == userIdx) {
+                likes.add(pendingLike);
+            }
+        }
+        return likes;
+    }
+
+    // 좋아요 수 변화량은 좋아요 상태가 바뀔 때만 생기고 상태는 저장된 뒤에 지워지므로, 대기 중인 상태가 없으면 저장할 것도 없다
+    public boolean isEmpty() {
+        return pendingLikes.isEmpty();
+    }
+
+    public int getPendingCount() {
+        return pendingLikes.size();
+    }
+
+    private void addLikeCountDelta(int postIdx, long delta) {
+        while (true) {
+            Generation current = generation;
+            current.writers.increment();
+            try {
+                // drain 이 Generation 을 바꾼 뒤라면 새 Generation 에 더한다
+                if (current == generation) {
+                    current.likeCountDeltas.computeIfAbsent(postIdx, key -> new LongAdder()).add(delta);
+                    return;
+                }
+            } finally {
+                current.writers.decrement();
+            }
+        }
+    }
+
+    private static long key(int userIdx, int postIdx) {
+        return ((long) userIdx << 32) | (postIdx & 0xffffffffL);
+    }
+
+    // drain 사이에 모인 게시물별 좋아요 수 변화량
+    private static class Generation {
+        private final ConcurrentHashMap<Integer, LongAdder> likeCountDeltas = new ConcurrentHashMap<>();
+        private final LongAdder writers = new LongAdder();
+    }
+
+    // 저장 대기 중인 좋아요 상태, committed 에서 같은 객체인지로 저장 이후 변경 여부를 판단하므로 수정하지 않는다
+    @Getter
+    @AllArgsConstructor
+    public static class PendingLike {
+        private final int userIdx;
+        private final int postIdx;
+        private final boolean liked;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Batch {
+        private final List<PendingLike> likes;
+        private final Map<Integer, Long> likeCountDeltas; // postIdx -> 좋아요 수 변화량
+
+        public boolean isEmpty() {
+            return likes.isEmpty() && likeCountDeltas.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.src.post;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * PostLikeBuffer 에 모인 좋아요를 주기적으로 저장
+ * 저장에 실패하면 버퍼에 남겨 두고 다음 주기에 다시 저장한다.
+ * 정상 종료할 때는 남은 좋아요를 모두 저장한 뒤 종료한다.
+ */
+@Component
+public class PostLikeFlusher {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PostService postService;
+    private final PostLikeBuffer postLikeBuffer;
+    private final int shutdownAttempts;
+
+
+    @Autowired
+    public PostLikeFlusher(PostService postService, PostLikeBuffer postLikeBuffer,
+                           @Value("${post.like.shutdown-flush-attempts:3}") int shutdownAttempts) {
+        this.postService = postService;
+        this.postLikeBuffer = postLikeBuffer;
+        this.shutdownAttempts = shutdownAttempts;
+    }
+
+    // drain 은 한 스레드에서만 호출해야 하므로 shutdown 과 겹치지 않게 synchronized
+    @Scheduled(fixedDelayString = "${post.like.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        // 대기 중인 좋아요가 없으면 트랜잭션(커넥션)을 열지 않는다
+        if (postLikeBuffer.isEmpty()) {
+            return;
+        }
+        try {
+            postService.flushLikes();
+        } catch (Exception exception) {
+            logger.error("좋아요 저장 실패 (대기 {}건)", postLikeBuffer.getPendingCount(), exception);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void flushOnShutdown() {
+        for (int attempt = 1; attempt <= shutdownAttempts; attempt++) {
+            try {
+                // flush 중에 들어온 좋아요까지 저장
+                while (!postLikeBuffer.isEmpty()) {
+                    postService.flushLikes();
+                }
+                return;
+            } catch (Exception exception) {
+                logger.error("종료 전 좋아요 저장 실패 ({}/{})", attempt, shutdownAttempts, exception);
+            }
+        }
+        logger.error("저장하지 못한 좋아요 {}건", postLikeBuffer.getPendingCount());
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.demo.src.post;
 
 import com.example.demo.config.BaseException;
+import com.example.demo.src.follow.FollowGraph;
+import com.example.demo.src.post.model.GetPostsPageRes;
 import com.example.demo.src.post.model.GetPostsRes;
+import com.example.demo.utils.ContentVersions;
 import com.example.demo.utils.JwtService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static com.example.demo.config.BaseResponseStatus.DATABASE_ERROR;
@@ -18,31 +22,95 @@ import static com.example.demo.config.BaseResponseStatus.USERS_EMPTY_USER_ID;
 public class PostProvider {
 
     private final PostDao postDao;
+    private final PostTimelineStore postTimelineStore;
+    private final PostFeedCache postFeedCache;
+    private final LikedPostIndex likedPostIndex;
+    private final FollowGraph followGraph;
+    private final ContentVersions contentVersions;
     private final JwtService jwtService;
 
 
     final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     @Autowired
-    public PostProvider(PostDao postDao, JwtService jwtService) {
+    public PostProvider(PostDao postDao, PostTimelineStore postTimelineStore, PostFeedCache postFeedCache, LikedPostIndex likedPostIndex, FollowGraph followGraph, ContentVersions contentVersions, JwtService jwtService) {
         this.postDao = postDao;
+        this.postTimelineStore = postTimelineStore;
+        this.postFeedCache = postFeedCache;
+        this.likedPostIndex = likedPostIndex;
+        this.followGraph = followGraph;
+        this.contentVersions = contentVersions;
         this.jwtService = jwtService;
     }
 
-    public List<GetPostsRes> retrievePosts(int userIdx) throws BaseException {
+    /*
+    메인 화면 ETag 용 stamp : 본인 + 팔로우 한 유저들의 콘텐츠 버전 (FollowGraph 로드 후에는 DB 조회 없음)
+    @return stamp, 최근에 바뀐 유저가 있으면 ContentVersions.UNSTABLE
+     */
+    public long getPostsStamp(int userIdx) throws BaseException {
+        try{
+            return contentVersions.stamp(userIdx, followGraph.followees(userIdx));
+        }
+        catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+
+    /*
+    @param stamp getPostsStamp 의 값, 페이지 캐시 key 로 사용 (UNSTABLE 이면 캐시하지 않는다)
+     */
+    public GetPostsPageRes retrievePosts(int userIdx, int cursorPostIdx, int limit, long stamp) throws BaseException {
+        boolean cacheable = stamp != ContentVersions.UNSTABLE;
+        // 같은 stamp 의 페이지가 PostFeedCache 에 있으면 (팔로우 한 유저들의 콘텐츠가 바뀌지 않았으면) DB 조회 없이 바로 응답
+        GetPostsPageRes getPostsPageRes = cacheable ? postFeedCache.getIfPresent(userIdx, stamp, cursorPostIdx, limit) : null;
+        if (getPostsPageRes != null) {
+            return getPostsPageRes;
+        }
 
         if (checkUserExist(userIdx) == 0) {
             throw new BaseException(USERS_EMPTY_USER_ID);
         }
         try{
-            List<GetPostsRes> getPosts = postDao.selectPosts(userIdx);
-            return getPosts;
+            getPostsPageRes = selectPostsPage(userIdx, cursorPostIdx, limit);
+            if (cacheable) {
+                postFeedCache.put(userIdx, stamp, cursorPostIdx, limit, getPostsPageRes);
+            }
+            return getPostsPageRes;
         }
         catch (Exception exception) {
             throw new BaseException(DATABASE_ERROR);
         }
     }
 
+    // 타임라인이 있으면 타임라인의 postIdx 로, 없으면 join 쿼리로 한 페이지 조회 (likeOrNot 은 LikedPostIndex 로 채운다)
+    private GetPostsPageRes selectPostsPage(int userIdx, int cursorPostIdx, int limit) {
+        // 다음 페이지가 있는지 알기 위해 하나 더 조회
+        int[] postIdxs = postTimelineStore.page(userIdx, cursorPostIdx, limit + 1);
+        if (postIdxs == null) {
+            // 타임라인이 없으면 기존 join 쿼리로 조회하고, 첫 페이지 조회 시 타임라인을 채워둔다
+            List<GetPostsRes> getPosts = postDao.selectPosts(followGraph.followees(userIdx), cursorPostIdx, limit + 1);
+            if (cursorPostIdx == PostCursor.FIRST_PAGE) {
+                postTimelineStore.warm(userIdx);
+            }
+            String nextCursor = null;
+            if (getPosts.size() > limit) {
+                getPosts = getPosts.subList(0, limit);
+                nextCursor = PostCursor.encode(getPosts.get(limit - 1).getPostIdx());
+            }
+            likedPostIndex.markLiked(userIdx, getPosts);
+            return new GetPostsPageRes(getPosts, nextCursor);
+        }
+
+        String nextCursor = null;
+        if (postIdxs.length > limit) {
+            postIdxs = Arrays.copyOf(postIdxs, limit);
+            nextCursor = PostCursor.encode(postIdxs[limit - 1]);
+        }
+        List<GetPostsRes> getPosts = postDao.selectPostsByIdxs(postIdxs);
+        likedPostIndex.markLiked(userIdx, getPosts);
+        return new GetPostsPageRes(getPosts, nextCursor);
+    }
+
     // 존재하는 유저인지 확인
     public int checkUserExist(int userIdx) throws BaseException{
         try{
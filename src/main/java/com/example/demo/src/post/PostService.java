@@ -1,14 +1,23 @@
 package com.example.demo.src.post;
 
 import com.example.demo.config.BaseException;
+import com.example.demo.src.counter.CounterDao;
 import com.example.demo.src.post.model.PatchPostsReq;
 import com.example.demo.src.post.model.PostPostsReq;
 import com.example.demo.src.post.model.PostPostsRes;
+import com.example.demo.src.user.UserFeedCache;
+import com.example.demo.utils.ContentVersions;
 import com.example.demo.utils.JwtService;
+import com.example.demo.utils.TransactionCallbacks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static com.example.demo.config.BaseResponseStatus.*;
 
@@ -19,25 +28,44 @@ public class PostService {
 
     private final PostDao postDao;
     private final PostProvider postProvider;
+    private final PostTimelineStore postTimelineStore;
+    private final PostLikeBuffer postLikeBuffer;
+    private final LikedPostIndex likedPostIndex;
+    private final CounterDao counterDao;
+    private final UserFeedCache userFeedCache;
+    private final ContentVersions contentVersions;
     private final JwtService jwtService;
 
 
     @Autowired
-    public PostService(PostDao postDao, PostProvider postProvider, JwtService jwtService) {
+    public PostService(PostDao postDao, PostProvider postProvider, PostTimelineStore postTimelineStore, PostLikeBuffer postLikeBuffer, LikedPostIndex likedPostIndex, CounterDao counterDao, UserFeedCache userFeedCache, ContentVersions contentVersions, JwtService jwtService) {
         this.postDao = postDao;
         this.postProvider = postProvider;
+        this.postTimelineStore = postTimelineStore;
+        this.postLikeBuffer = postLikeBuffer;
+        this.likedPostIndex = likedPostIndex;
+        this.counterDao = counterDao;
+        this.userFeedCache = userFeedCache;
+        this.contentVersions = contentVersions;
         this.jwtService = jwtService;
 
     }
 
-    // 게시물 생성
+    // 게시물 생성 : 게시물, 이미지, 게시물 수를 한 트랜잭션으로 저장
+    @Transactional(rollbackFor = Exception.class)
     public PostPostsRes createPosts(int userIdx, PostPostsReq postPostsReq) throws BaseException {
 
         try{
             int postIdx = postDao.insertPosts(userIdx, postPostsReq.getContent());
-            for (int i=0; i<postPostsReq.getPostImgUrls().size(); i++) {
-                postDao.insertPostImgs(postIdx, postPostsReq.getPostImgUrls().get(i));
-            }
+            postDao.insertPostImgs(postIdx, postPostsReq.getPostImgUrls());
+            counterDao.updateUserPostCount(userIdx, 1);
+
+            // 커밋 후 팔로워들의 타임라인에 추가, 작성자 프로필 캐시 무효화
+            TransactionCallbacks.afterCommit(() -> {
+                postTimelineStore.fanOut(userIdx, postIdx);
+                userFeedCache.invalidate(userIdx);
+                contentVersions.touch(userIdx);
+            });
             return new PostPostsRes(postIdx);
         }
         catch (Exception exception) {
@@ -45,6 +73,37 @@ public class PostService {
         }
     }
 
+    // 게시물 여러 개 생성 (bulk) : 한 batch 를 한 트랜잭션으로 저장
+    @Transactional(rollbackFor = Exception.class)
+    public int[] createPostsBulk(List<PostPostsReq> postPostsReqs) throws BaseException {
+
+        try{
+            int[] postIdxs = postDao.insertPostsBatch(postPostsReqs);
+            postDao.insertPostImgsBatch(postIdxs, postPostsReqs);
+
+            Map<Integer, Integer> postCounts = new HashMap<>();
+            for (PostPostsReq postPostsReq : postPostsReqs) {
+                postCounts.merge(postPostsReq.getUserIdx(), 1, Integer::sum);
+            }
+            for (Map.Entry<Integer, Integer> postCount : postCounts.entrySet()) {
+                counterDao.updateUserPostCount(postCount.getKey(), postCount.getValue());
+            }
+
+            // 커밋 후 팔로워들의 타임라인에 추가, 작성자 프로필 캐시 무효화
+            TransactionCallbacks.afterCommit(() -> {
+                for (int i = 0; i < postIdxs.length; i++) {
+                    postTimelineStore.fanOut(postPostsReqs.get(i).getUserIdx(), postIdxs[i]);
+                }
+                postCounts.keySet().forEach(userFeedCache::invalidate);
+                postCounts.keySet().forEach(contentVersions::touch);
+            });
+            return postIdxs;
+        }
+        catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+
     // 게시물 수정
     public void modifyPost(int userIdx, int postIdx, PatchPostsReq patchPostsReq) throws BaseException {
 
@@ -63,6 +122,8 @@ public class PostService {
             if (result == 0) {
                 throw new BaseException(MODIFY_FAIL_POST);
             }
+            // 팔로워들의 메인 화면 ETag 가 바뀌도록
+            contentVersions.touch(userIdx);
         }
         catch (Exception exception) {
             throw new BaseException(DATABASE_ERROR);
@@ -70,18 +131,32 @@ public class PostService {
     }
 
     // 게시물 삭제 - PATCH
+    @Transactional(rollbackFor = Exception.class)
     public void deletePost(int postIdx) throws BaseException {
         if (postProvider.checkPostExist(postIdx) == 0) {
             throw new BaseException(POSTS_EMPTY_POST_ID);
         }
 
         try{
+            boolean wasActive = "ACTIVE".equals(postDao.selectPostStatusForUpdate(postIdx));
+            int userIdx = postDao.selectPostUserIdx(postIdx);
             int result = postDao.deletePost(postIdx);
 
             // 성공이면 result = 1, 실패면 result = 0
             if (result == 0) {
                 throw new BaseException(DELETE_FAIL_POST);
             }
+            // 이미 삭제된 게시물이면 게시물 수를 다시 줄이지 않는다
+            if (wasActive) {
+                counterDao.updateUserPostCount(userIdx, -1);
+            }
+
+            // 커밋 후 팔로워들의 타임라인에서 제거, 작성자 프로필 캐시 무효화
+            TransactionCallbacks.afterCommit(() -> {
+                postTimelineStore.retract(userIdx, postIdx);
+                userFeedCache.invalidate(userIdx);
+                contentVersions.touch(userIdx);
+            });
         }
         catch (Exception exception) {
             throw new BaseException(DATABASE_ERROR);
@@ -89,18 +164,90 @@ public class PostService {
     }
 
     // 게시물 삭제 - DELETE
+    @Transactional(rollbackFor = Exception.class)
     public void deletePost2(int postIdx) throws BaseException {
         if (postProvider.checkPostExist(postIdx) == 0) {
             throw new BaseException(POSTS_EMPTY_POST_ID);
         }
 
         try{
+            boolean wasActive = "ACTIVE".equals(postDao.selectPostStatusForUpdate(postIdx));
+            int userIdx = postDao.selectPostUserIdx(postIdx);
             int result = postDao.deletePost2(postIdx);
 
             // 성공이면 result = 1, 실패면 result = 0
             if (result == 0) {
                 throw new BaseException(DELETE_FAIL_POST);
             }
+            // 이미 삭제된 게시물이면 게시물 수를 다시 줄이지 않는다
+            if (wasActive) {
+                counterDao.updateUserPostCount(userIdx, -1);
+            }
+            counterDao.deletePostCount(postIdx);
+
+            // 커밋 후 팔로워들의 타임라인에서 제거, 작성자 프로필 캐시 무효화
+            TransactionCallbacks.afterCommit(() -> {
+                postTimelineStore.retract(userIdx, postIdx);
+                userFeedCache.invalidate(userIdx);
+                contentVersions.touch(userIdx);
+            });
+        }
+        catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+
+    /*
+    게시물 좋아요 / 좋아요 취소 : PostLikeBuffer 에 기록하고 PostLikeFlusher 가 모아서 저장한다
+    @return 좋아요 상태가 바뀌었으면 true, 이미 같은 상태면 false
+     */
+    public boolean likePost(int userIdx, int postIdx, boolean liked) throws BaseException {
+        if (postProvider.checkPostExist(postIdx) == 0) {
+            throw new BaseException(POSTS_EMPTY_POST_ID);
+        }
+
+        try{
+            boolean changed = postLikeBuffer.record(userIdx, postIdx, liked, () -> likedPostIndex.isLiked(userIdx, postIdx));
+            if (changed) {
+                likedPostIndex.update(userIdx, postIdx, liked);
+                // 캐시된 메인 화면 페이지의 likeOrNot 이 바뀌도록 (flush 전에도)
+                contentVersions.touch(userIdx);
+            }
+            return changed;
+        }
+        catch (BaseException exception) {
+            throw exception;
+        }
+        catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+
+    /*
+    대기 중인 좋아요 저장 : 좋아요 상태와 게시물별 좋아요 수를 한 트랜잭션으로 저장
+    @return 저장한 좋아요 상태 수 + 좋아요 수를 갱신한 게시물 수
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int flushLikes() throws BaseException {
+        PostLikeBuffer.Batch batch = postLikeBuffer.drain();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // 롤백되거나 커밋에 실패하면 좋아요 수 변화량을 되돌려서 다음 flush 에 다시 저장 (좋아요 상태는 버퍼에 그대로 남아 있다)
+        TransactionCallbacks.unlessCommitted(() -> postLikeBuffer.restore(batch));
+
+        try{
+            postDao.upsertPostLikes(batch.getLikes());
+            counterDao.updatePostLikeCounts(batch.getLikeCountDeltas());
+            List<Integer> authorIdxs = postDao.selectPostUserIdxs(batch.getLikeCountDeltas().keySet());
+
+            // 커밋 후 대기 목록에서 제거, 좋아요 한 유저 / 게시물 작성자의 ETag 가 바뀌도록
+            TransactionCallbacks.afterCommit(() -> {
+                postLikeBuffer.committed(batch);
+                batch.getLikes().forEach(pendingLike -> contentVersions.touch(pendingLike.getUserIdx()));
+                authorIdxs.forEach(contentVersions::touch);
+            });
+            return batch.getLikes().size() + batch.getLikeCountDeltas().size();
         }
         catch (Exception exception) {
             throw new BaseException(DATABASE_ERROR);
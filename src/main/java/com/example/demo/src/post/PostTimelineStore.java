@@ -0,0 +1,163 @@
+package com.example.demo.src.post;
+
+import com.example.demo.src.follow.FollowGraph;
+import com.example.demo.src.internal.model.GetCacheStatsRes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저별 홈 타임라인 (fan-out-on-write)
+ * 게시물 생성/삭제 시 팔로워들의 타임라인에 postIdx 를 넣고 빼서,
+ * 메인 화면 조회 시 Post/Follow join 없이 postIdx 목록만 읽고 한 번에 조회할 수 있게 한다.
+ * 타임라인이 없는(cold) 유저는 기존 join 쿼리로 조회하고 그 때 타임라인을 채운다.
+ */
+@Component
+public class PostTimelineStore {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PostDao postDao;
+    private final FollowGraph followGraph;
+    private final int capacity;
+    private final Cache<Integer, Timeline> timelines;
+
+    @Autowired
+    public PostTimelineStore(PostDao postDao, FollowGraph followGraph,
+                             @Value("${post.timeline.capacity:300}") int capacity,
+                             @Value("${post.timeline.max-users:10000}") long maxUsers,
+                             @Value("${post.timeline.expire-minutes:10}") long expireMinutes) {
+        this.postDao = postDao;
+        this.followGraph = followGraph;
+        this.capacity = capacity;
+        // 다른 서버에서 생긴 팔로우 변경은 타임라인에 반영되지 않으므로 일정 시간이 지나면 다시 채운다
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(expireMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+    }
+
+    /*
+    타임라인에서 cursorPostIdx 보다 작은 postIdx 를 최신순으로 최대 size 개 조회
+    @return int[], 타임라인이 없거나 타임라인 범위를 벗어나면 null (기존 join 쿼리로 조회)
+     */
+    public int[] page(int userIdx, int cursorPostIdx, int size) {
+        Timeline timeline = timelines.getIfPresent(userIdx);
+        if (timeline == null) {
+            return null;
+        }
+        return timeline.page(cursorPostIdx, size);
+    }
+
+    // 팔로우 한 유저들의 최신 게시물로 타임라인 채우기
+    public void warm(int userIdx) {
+        timelines.get(userIdx, key -> {
+            List<Integer> postIdxs = postDao.selectTimelinePostIdxs(followGraph.followees(key), capacity);
+            return new Timeline(capacity, postIdxs, postIdxs.size() < capacity);
+        });
+    }
+
+    // 게시물 생성 : 작성자를 팔로우 하는 유저들의 타임라인에 추가
+    public void fanOut(int userIdx, int postIdx) {
+        for (int followerIdx : followGraph.followers(userIdx)) {
+            // 채우는 중인 타임라인은 다 채워진 뒤에 추가되도록 computeIfPresent 사용
+            timelines.asMap().computeIfPresent(followerIdx, (key, timeline) -> {
+                timeline.push(postIdx);
+                return timeline;
+            });
+        }
+    }
+
+    // 게시물 삭제 : 작성자를 팔로우 하는 유저들의 타임라인에서 제거
+    public void retract(int userIdx, int postIdx) {
+        for (int followerIdx : followGraph.followers(userIdx)) {
+            Timeline timeline = timelines.getIfPresent(followerIdx);
+            if (timeline != null) {
+                timeline.remove(postIdx);
+            }
+        }
+    }
+
+    // 팔로우 / 언팔로우 : 다음 조회 때 다시 채운다
+    public void invalidate(int userIdx) {
+        timelines.invalidate(userIdx);
+    }
+
+    public GetCacheStatsRes getCacheStats() {
+        return GetCacheStatsRes.of("postTimeline", timelines.estimatedSize(), timelines.stats());
+    }
+
+    /**
+     * 크기가 고정된 postIdx 목록 (오름차순), 가득 차면 가장 오래된 게시물부터 버린다.
+     */
+    static class Timeline {
+        private final int[] postIdxs;
+        private int size;
+        // 팔로우 한 유저들의 게시물을 모두 담고 있는지 (오래된 게시물을 버린 적이 없는지)
+        private boolean complete;
+
+        Timeline(int capacity, List<Integer> latestPostIdxs, boolean complete) {
+            this.postIdxs = new int[capacity];
+            this.size = latestPostIdxs.size();
+            this.complete = complete;
+            // 최신순으로 조회된 목록을 오름차순으로 저장
+            for (int i = 0; i < size; i++) {
+                postIdxs[size - 1 - i] = latestPostIdxs.get(i);
+            }
+        }
+
+        synchronized void push(int postIdx) {
+            int pos = Arrays.binarySearch(postIdxs, 0, size, postIdx);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (size < postIdxs.length) {
+                System.arraycopy(postIdxs, insertAt, postIdxs, insertAt + 1, size - insertAt);
+                postIdxs[insertAt] = postIdx;
+                size++;
+                return;
+            }
+
+            // 가득 찬 경우 가장 오래된 postIdx 를 버린다
+            complete = false;
+            if (insertAt == 0) {
+                return;
+            }
+            System.arraycopy(postIdxs, 1, postIdxs, 0, insertAt - 1);
+            postIdxs[insertAt - 1] = postIdx;
+        }
+
+        synchronized void remove(int postIdx) {
+            int pos = Arrays.binarySearch(postIdxs, 0, size, postIdx);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(postIdxs, pos + 1, postIdxs, pos, size - pos - 1);
+            size--;
+        }
+
+        synchronized int[] page(int cursorPostIdx, int pageSize) {
+            int pos = Arrays.binarySearch(postIdxs, 0, size, cursorPostIdx);
+            int end = pos >= 0 ? pos : -pos - 1; // cursorPostIdx 보다 작은 postIdx 의 개수
+            int count = Math.min(pageSize, end);
+            if (count < pageSize && !complete) {
+                return null;
+            }
+
+            int[] page = new int[count];
+            for (int i = 0; i < count; i++) {
+                page[i] = postIdxs[end - 1 - i];
+            }
+            return page;
+        }
+    }
+}
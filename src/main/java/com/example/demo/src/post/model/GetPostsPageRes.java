@@ -0,0 +1,15 @@
+package com.example.demo.src.post.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class GetPostsPageRes {
+    private List<GetPostsRes> posts;
+    private String nextCursor; // 다음 페이지 조회 시 cursor 로 전달, 마지막 페이지면 null
+}
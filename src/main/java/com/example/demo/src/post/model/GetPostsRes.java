@@ -1,6 +1,10 @@
 package com.example.demo.src.post.model;
 
 
+import com.example.demo.utils.RelativeTimeFormatter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,6 +14,7 @@ import java.util.List;
 @Getter
 @Setter
 @AllArgsConstructor
+@JsonPropertyOrder({"postIdx", "userIdx", "nickName", "profileImgUrl", "content", "postLikeCount", "commentCount", "updatedAt", "likeOrNot", "imgs"})
 public class GetPostsRes {
     private int postIdx;
     private int userIdx;
@@ -18,7 +23,14 @@ public class GetPostsRes {
     private String content;
     private int postLikeCount;
     private int commentCount;
-    private String updatedAt;
+    @JsonIgnore
+    private long updatedAtMillis; // 수정 시각 (epoch millis), 응답에는 updatedAt("N분 전")으로 표시
     private String likeOrNot; // 내가 게시물에 좋아요를 했는지 여부
     private List<GetPostImgRes> imgs;
+
+    // 응답을 만드는 시점 기준으로 계산하므로 캐시된 게시물도 올바르게 표시된다
+    @JsonProperty("updatedAt")
+    public String getUpdatedAt() {
+        return RelativeTimeFormatter.format(updatedAtMillis);
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.demo.src.post.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@JsonPropertyOrder({"index", "isSuccess", "code", "message", "postIdx"})
+public class PostPostsBulkRes {
+    private int index; // 요청 본문에서 몇 번째 게시물인지 (0부터)
+    @JsonProperty("isSuccess")
+    private boolean isSuccess;
+    private int code;
+    private String message;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer postIdx;
+}
@@ -0,0 +1,151 @@
+package com.example.demo.src.ratelimit;
+
+import com.example.demo.config.BaseResponse;
+import com.example.demo.utils.JwtService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.demo.config.BaseResponseStatus.TOO_MANY_REQUESTS;
+
+/**
+ * 유저(JWT 의 userIdx, 없으면 IP) + API 별 요청 수 제한
+ * JwtAuthenticationFilter 다음, DispatcherServlet 전에 실행되어 제한된 요청은 Controller / DB 까지 가지 않는다.
+ * bucket 은 GCRA(token bucket 과 같은 결과) 로 다음 요청 허용 시각 하나만 AtomicLong 에 저장하고 CAS 로 갱신한다 (잠금 없음).
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<RateLimitProperties.Route> routes;
+    private final long[] emissionIntervalNanos; // route 별 요청 하나의 간격
+    private final long[] burstNanos;            // route 별 몰려서 허용하는 시간 (간격 * burst)
+    private final Cache<BucketKey, AtomicLong> buckets;
+    // 제한된 응답은 매번 직렬화하지 않고 미리 만들어 둔 byte 를 그대로 쓴다
+    private final byte[] tooManyRequestsBody;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) throws JsonProcessingException {
+        this.routes = properties.getRoutes();
+        this.emissionIntervalNanos = new long[routes.size()];
+        this.burstNanos = new long[routes.size()];
+        for (int i = 0; i < routes.size(); i++) {
+            RateLimitProperties.Route route = routes.get(i);
+            // 0 이하면 간격이 Infinity 가 되고 burst 를 곱할 때 long 이 넘친다 (막으려면 route 를 두고 0 대신 limit 을 작게)
+            if (!(route.getPermitsPerSecond() > 0)) {
+                throw new IllegalArgumentException("rate-limit.routes[" + i + "].permits-per-second 는 0 보다 커야 합니다 : "
+                        + route.getMethod() + " " + route.getPattern() + " = " + route.getPermitsPerSecond());
+            }
+            emissionIntervalNanos[i] = (long) (TimeUnit.SECONDS.toNanos(1) / route.getPermitsPerSecond());
+            burstNanos[i] = emissionIntervalNanos[i] * Math.max(1, route.getBurst());
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleSeconds(), TimeUnit.SECONDS)
+                .build();
+        this.tooManyRequestsBody = objectMapper.writeValueAsBytes(new BaseResponse<>(TOO_MANY_REQUESTS));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int route = matchRoute(request);
+        if (route >= 0) {
+            long waitNanos = acquire(route, bucketKey(route, request));
+            if (waitNanos > 0) {
+                reject(response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /*
+    요청 하나 허용
+    @return 0 이면 허용, 0 보다 크면 다시 요청할 수 있을 때까지 남은 시간 (ns)
+     */
+    private long acquire(int route, BucketKey key) {
+        AtomicLong bucket = buckets.get(key, ignored -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long allowedAt = bucket.get(); // 이 시각까지 쌓인 요청을 모두 처리한 것으로 본다 (theoretical arrival time)
+            long next = Math.max(allowedAt, now) + emissionIntervalNanos[route];
+            long excess = next - now - burstNanos[route];
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(allowedAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private int matchRoute(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (int i = 0; i < routes.size(); i++) {
+            RateLimitProperties.Route route = routes.get(i);
+            if ((route.getMethod() == null || route.getMethod().equalsIgnoreCase(method)) && PATH_MATCHER.match(route.getPattern(), path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // JwtAuthenticationFilter 에서 확인한 userIdx, 없으면 IP (프록시 뒤라면 Tomcat RemoteIpValve 로 원래 IP 를 넘겨받는다)
+    private static BucketKey bucketKey(int route, HttpServletRequest request) {
+        Object userIdx = request.getAttribute(JwtService.USER_IDX_ATTRIBUTE);
+        if (userIdx instanceof Integer) {
+            return new BucketKey(route, (Integer) userIdx, null);
+        }
+        return new BucketKey(route, 0, request.getRemoteAddr());
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(tooManyRequestsBody.length);
+        response.getOutputStream().write(tooManyRequestsBody);
+    }
+
+    private static final class BucketKey {
+        private final int route;
+        private final int userIdx;
+        private final String ip; // JWT 가 없는 요청만
+
+        BucketKey(int route, int userIdx, String ip) {
+            this.route = route;
+            this.userIdx = userIdx;
+            this.ip = ip;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof BucketKey)) {
+                return false;
+            }
+            BucketKey other = (BucketKey) object;
+            return route == other.route && userIdx == other.userIdx && Objects.equals(ip, other.ip);
+        }
+
+        @Override
+        public int hashCode() {
+            return (route * 31 + userIdx) * 31 + Objects.hashCode(ip);
+        }
+    }
+}
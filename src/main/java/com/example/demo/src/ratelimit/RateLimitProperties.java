@@ -0,0 +1,51 @@
+package com.example.demo.src.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * API 별 요청 수 제한 설정 (유저별, JWT 가 없으면 IP 별)
+ * rate-limit.routes[0].method=GET
+ * rate-limit.routes[0].pattern=/posts
+ * rate-limit.routes[0].permits-per-second=10
+ * rate-limit.routes[0].burst=20
+ * routes 를 설정하면 기본값 전체가 바뀌고, 어느 route 에도 해당하지 않는 요청은 제한하지 않는다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // 최근 요청이 없는 유저 / IP 의 bucket 을 정리하는 시간과 최대 bucket 수
+    private long idleSeconds = 300;
+    private long maxBuckets = 200_000;
+    // DB 를 많이 쓰는 API 기본값
+    private List<Route> routes = new ArrayList<>(Arrays.asList(
+            new Route("GET", "/posts", 10, 20),
+            new Route("GET", "/users/{userIdx}", 10, 20),
+            new Route("GET", "/users/{userIdx}/posts/export", 0.2, 2),
+            new Route("POST", "/posts/bulk", 1, 2),
+            new Route("POST", "/posts/{postIdx}/likes", 10, 20),
+            new Route("DELETE", "/posts/{postIdx}/likes", 10, 20),
+            new Route("POST", "/follows/{followeeIdx}", 5, 10),
+            new Route("DELETE", "/follows/{followeeIdx}", 5, 10)
+    ));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        private String method;              // null 이면 모든 method
+        private String pattern;             // AntPathMatcher 패턴
+        private double permitsPerSecond;    // 평균 허용 요청 수 (초당)
+        private int burst;                  // 한 번에 몰려도 허용하는 요청 수
+    }
+}
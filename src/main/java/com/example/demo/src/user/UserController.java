@@ -2,15 +2,27 @@ package com.example.demo.src.user;
 
 import com.example.demo.config.BaseException;
 import com.example.demo.config.BaseResponse;
+import com.example.demo.config.BaseResponseStatus;
 import com.example.demo.src.user.model.*;
+import com.example.demo.utils.ContentVersions;
 import com.example.demo.utils.JwtService;
+import com.example.demo.utils.RequestValidators;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
 
 import static com.example.demo.config.BaseResponseStatus.*;
-import static com.example.demo.utils.ValidationRegex.*;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
 @RestController
 @RequestMapping("/users")
@@ -23,28 +35,83 @@ public class UserController {
     private final UserService userService;
     @Autowired
     private final JwtService jwtService;
+    @Autowired
+    private final ObjectMapper objectMapper;
 
 
 
 
-    public UserController(UserProvider userProvider, UserService userService, JwtService jwtService){
+    public UserController(UserProvider userProvider, UserService userService, JwtService jwtService, ObjectMapper objectMapper){
         this.userProvider = userProvider;
         this.userService = userService;
         this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * 유저 피드 조회 API
+     * [GET] /users/:userIdx
+     * 유저의 콘텐츠 버전으로 만든 ETag 가 If-None-Match 와 같으면 조회 없이 304
+     * @return BaseResponse<GetUserFeedRes>
+     */
     @ResponseBody
     @GetMapping("/{userIdx}")
-    public BaseResponse<GetUserFeedRes> getUserFeed(@PathVariable("userIdx") int userIdx) {
+    public BaseResponse<GetUserFeedRes> getUserFeed(@PathVariable("userIdx") int userIdx, ServletWebRequest webRequest) {
         try{
+            long stamp = userProvider.getUserFeedStamp(userIdx);
+            if (stamp != ContentVersions.UNSTABLE && webRequest.checkNotModified("u" + Long.toHexString(stamp))) {
+                return null;
+            }
 
             GetUserFeedRes getUserFeedRes = userProvider.retrieveUserFeed(userIdx, userIdx);
             return new BaseResponse<>(getUserFeedRes);
         } catch(BaseException exception){
+            // 실패 응답은 저장되지 않게 해서 ETag 로 재사용되지 않도록
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
             return new BaseResponse<>((exception.getStatus()));
         }
     }
 
+    /**
+     * 게시물 내보내기 API
+     * [GET] /users/:userIdx/posts/export
+     * 본인의 게시물 전체를 한 줄에 하나씩(NDJSON) 조회되는 대로 내려준다
+     * @return application/x-ndjson, 실패 시 BaseResponse
+     */
+    @GetMapping("/{userIdx}/posts/export") // (GET) 127.0.0.1:9000/users/:userIdx/posts/export
+    public ResponseEntity<StreamingResponseBody> exportUserPosts(@PathVariable("userIdx") int userIdx) {
+        try{
+            int userIdxByJwt = jwtService.getUserIdx();
+            if(userIdx != userIdxByJwt){
+                return exportError(INVALID_USER_JWT);
+            }
+            if(userProvider.checkUserExist(userIdx) == 0){
+                return exportError(USERS_EMPTY_USER_ID);
+            }
+        } catch(BaseException exception){
+            return exportError(exception.getStatus());
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try{
+                userProvider.exportUserPosts(userIdx, outputStream);
+            } catch(DataAccessException exception){
+                // 이미 응답을 쓰기 시작했으므로 상태 코드를 바꿀 수 없다, 연결을 끊어 불완전한 응답임을 알린다
+                logger.error("게시물 내보내기 실패 userIdx=" + userIdx, exception);
+                throw exception;
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportError(BaseResponseStatus status) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> outputStream.write(objectMapper.writeValueAsBytes(new BaseResponse<>(status))));
+    }
+
     @ResponseBody
     @GetMapping("/{userIdx}/X") // (GET) 127.0.0.1:9000/users/:userIdx
     public BaseResponse<GetUserRes> getUserByIdx(@PathVariable("userIdx") int userIdx) {
@@ -60,48 +127,24 @@ public class UserController {
     /**
      * 회원가입 API
      * [POST] /users
+     * 비밀번호 암호화가 끝날 때까지 요청 스레드를 붙잡지 않도록 CompletableFuture 로 응답
      * @return BaseResponse<PostUserRes>
      */
     // Body
     @ResponseBody
     @PostMapping("") // (POST) 127.0.0.1:9000/users
-    public BaseResponse<PostUserRes> createUser(@RequestBody PostUserReq postUserReq) {
-        // TODO: email 관련한 짧은 validation 예시입니다. 그 외 더 부가적으로 추가해주세요!
-        if(postUserReq.getEmail() == null){
-            return new BaseResponse<>(POST_USERS_EMPTY_EMAIL);
-        }
-        if(postUserReq.getPassword() == null){
-            return new BaseResponse<>(POST_USERS_EMPTY_PASSWORD);
+    public CompletableFuture<BaseResponse<PostUserRes>> createUser(@RequestBody PostUserReq postUserReq) {
+        // 형식적 validation (필수 값, 이메일 / 비밀번호 형식)
+        BaseResponseStatus status = RequestValidators.POST_USER_REQ.validate(postUserReq);
+        if(!status.isSuccess()){
+            return completedFuture(new BaseResponse<>(status));
         }
-        if(postUserReq.getName() == null){
-            return new BaseResponse<>(POST_USERS_EMPTY_NAME);
-        }
-
-        if(postUserReq.getBirth() == null){
-            return new BaseResponse<>(POST_USERS_EMPTY_BIRTHDAY);
-        }
-        if(postUserReq.getNickName() == null){
-            return new BaseResponse<>(POST_USERS_EMPTY_NICKNAME);
-        }
-
-        // 정규 표현
-        if(!isRegexEmail(postUserReq.getEmail())){
-            return new BaseResponse<>(POST_USERS_INVALID_EMAIL);
-        }
-//        if(!isRegexPassword(postUserReq.getPassword())){
-//            return new BaseResponse<>(POST_USERS_INVALID_PASSWORD);
-//        }
-//        if(!isRegexName(postUserReq.getName())){
-//            return new BaseResponse<>(POST_USERS_INVALID_NAME);
-//        }
-//        if(!isRegexNickName(postUserReq.getNickName())){
-//            return new BaseResponse<>(POST_USERS_INVALID_NICKNAME);
-//        }
         try{
-            PostUserRes postUserRes = userService.createUser(postUserReq);
-            return new BaseResponse<>(postUserRes);
+            return userService.createUser(postUserReq)
+                    .thenApply(postUserRes -> new BaseResponse<>(postUserRes))
+                    .exceptionally(throwable -> new BaseResponse<>(BaseException.statusOf(throwable)));
         } catch(BaseException exception){
-            return new BaseResponse<>((exception.getStatus()));
+            return completedFuture(new BaseResponse<>((exception.getStatus())));
         }
     }
 
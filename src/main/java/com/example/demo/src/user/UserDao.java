@@ -2,55 +2,61 @@ package com.example.demo.src.user;
 
 
 import com.example.demo.src.user.model.*;
+import com.example.demo.utils.NoDaoConcurrencyLimit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository
 public class UserDao {
 
     private JdbcTemplate jdbcTemplate;
+    // 내보내기 전용 : MySQL 드라이버는 fetchSize 가 Integer.MIN_VALUE 일 때 결과를 한 번에 받지 않고 한 행씩 읽는다 (forward-only 스트리밍)
+    private JdbcTemplate streamingJdbcTemplate;
 
     @Autowired
     public void setDataSource(DataSource dataSource){
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
     }
 
+    // JMH 벤치마크(UserDaoRowMapperBenchmark)에서 접근하도록 package-private
+    static final RowMapper<GetUserInfoRes> userInfoRowMapper = (rs,rowNum) -> new GetUserInfoRes(
+            rs.getString("nickName"),
+            rs.getString("name"),
+            rs.getString("profileImgUrl"),
+            rs.getString("website"),
+            rs.getString("introduction"),
+            rs.getInt("followerCount"),
+            rs.getInt("followingCount"),
+            rs.getInt("postCount")
+    );
+
+    static final RowMapper<GetUserPostsRes> userPostsRowMapper = (rs,rowNum) -> new GetUserPostsRes(
+            rs.getInt("postIdx"),
+            rs.getString("postImgUrl")
+    );
+
     public GetUserInfoRes selectUserInfo(int userIdx){
+        // 게시물 / 팔로워 / 팔로잉 수는 UserCount 에서 PK 로 조회
         String selectUserInfoQuery = "SELECT name, nickName, profileImgUrl, introduce as introduction, website,\n" +
-                "       IF (postCount is null, 0, postCount) as postCount,\n" +
-                "       IF (followerIdx is null, 0, followerCount) as followerCount,\n" +
-                "       IF (followingCount is null, 0, followingCount) as followingCount \n" +
+                "       IF (uc.postCount is null, 0, uc.postCount) as postCount,\n" +
+                "       IF (uc.followerCount is null, 0, uc.followerCount) as followerCount,\n" +
+                "       IF (uc.followingCount is null, 0, uc.followingCount) as followingCount \n" +
                 "FROM User \n" +
-                "    left join (SELECT userIdx, COUNT(postIdx) as postCount \n" +
-                "                FROM Post\n" +
-                "                WHERE status='ACTIVE' \n" +
-                "                GROUP BY userIdx) p on p.userIdx = User.userIdx \n" +
-                "    left join (SELECT followerIdx, COUNT(followIdx) as followerCount \n" +
-                "                FROM Follow\n" +
-                "                WHERE status='ACTIVE' \n" +
-                "                GROUP BY followerIdx) f1 on f1.followerIdx = User.userIdx \n" +
-                "    left join (SELECT followeeIdx, COUNT(followIdx) as followingCount \n" +
-                "                FROM Follow\n" +
-                "                WHERE status='ACTIVE' \n" +
-                "                GROUP BY followeeIdx) f2 on f2.followeeIdx = User.userIdx \n" +
+                "    left join UserCount as uc on uc.userIdx = User.userIdx \n" +
                 "WHERE User.userIdx = ? and User.status = 'ACTIVE';";
         int selectUserInfoParam = userIdx;
         // 객체는 queryForObject, 리스트 형태는 query
-        return this.jdbcTemplate.queryForObject(selectUserInfoQuery,
-                (rs,rowNum) -> new GetUserInfoRes(
-                        rs.getString("nickName"),
-                        rs.getString("name"),
-                        rs.getString("profileImgUrl"),
-                        rs.getString("website"),
-                        rs.getString("introduction"),
-                        rs.getInt("followerCount"),
-                        rs.getInt("followingCount"),
-                        rs.getInt("postCount")
-                ), selectUserInfoParam);
+        return this.jdbcTemplate.queryForObject(selectUserInfoQuery, userInfoRowMapper, selectUserInfoParam);
     }
 
     public List<GetUserPostsRes> selectUserPosts(int userIdx){
@@ -64,14 +70,41 @@ public class UserDao {
                 "ORDER BY p.postIdx;";
         int selectUserPostsParam = userIdx;
         // 객체는 queryForObject, 리스트 형태는 query
-        return this.jdbcTemplate.query(selectUserPostsQuery,
-                (rs,rowNum) -> new GetUserPostsRes(
-                        rs.getInt("postIdx"),
-                        rs.getString("postImgUrl")
-                ), selectUserPostsParam);
+        return this.jdbcTemplate.query(selectUserPostsQuery, userPostsRowMapper, selectUserPostsParam);
     }
 
 
+    // 유저의 모든 게시물을 List 에 모으지 않고 한 건씩 consumer 로 넘긴다 (게시물 내보내기)
+    // 이미지가 여러 장인 게시물은 연속된 행으로 조회되므로 postIdx 가 바뀔 때 한 건으로 묶는다
+    // 클라이언트가 받는 동안 계속 실행되므로 Dao 동시 호출 제한에서 빼고, 동시 실행 수는 내보내기 요청 수 제한(rate-limit)으로 막는다
+    @NoDaoConcurrencyLimit
+    public void selectUserPostsForExport(int userIdx, Consumer<GetUserPostExportRes> consumer){
+        String selectUserPostsForExportQuery = "SELECT p.postIdx as postIdx, p.content as content, p.updatedAt as updatedAt, pi.imgUrl as postImgUrl\n" +
+                "FROM Post as p\n" +
+                "    left join PostImgUrl as pi on pi.postIdx = p.postIdx and pi.status = 'ACTIVE'\n" +
+                "WHERE p.status = 'ACTIVE' and p.userIdx = ?\n" +
+                "ORDER BY p.postIdx, pi.postImgUrlIdx;";
+        int selectUserPostsForExportParam = userIdx;
+
+        GetUserPostExportRes[] current = new GetUserPostExportRes[1];
+        this.streamingJdbcTemplate.query(selectUserPostsForExportQuery,
+                (RowCallbackHandler) rs -> {
+                    int postIdx = rs.getInt("postIdx");
+                    if (current[0] == null || current[0].getPostIdx() != postIdx) {
+                        if (current[0] != null) {
+                            consumer.accept(current[0]);
+                        }
+                        current[0] = new GetUserPostExportRes(postIdx, rs.getString("content"), rs.getString("updatedAt"), new ArrayList<>());
+                    }
+                    String postImgUrl = rs.getString("postImgUrl");
+                    if (postImgUrl != null) {
+                        current[0].getPostImgUrls().add(postImgUrl);
+                    }
+                }, selectUserPostsForExportParam);
+        if (current[0] != null) {
+            consumer.accept(current[0]);
+        }
+    }
 
     public GetUserRes getUsersByEmail(String email){
         String getUsersByEmailQuery = "select userIdx, name, nickName, email from User where email=?";
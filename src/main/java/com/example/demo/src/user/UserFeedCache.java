@@ -0,0 +1,65 @@
+package com.example.demo.src.user;
+
+import com.example.demo.src.internal.model.GetCacheStatsRes;
+import com.example.demo.src.user.model.GetUserInfoRes;
+import com.example.demo.src.user.model.GetUserPostsRes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 유저 프로필 화면 (GET /users/{userIdx}) 캐시
+ * 유저 정보와 게시물 목록을 userIdx 별로 보관하고, 닉네임 변경 / 게시물 생성, 삭제 시 무효화한다.
+ * 크기 제한(W-TinyLFU) + TTL 로 오래된 값이 남지 않도록 한다.
+ */
+@Component
+public class UserFeedCache {
+
+    private final Cache<Integer, UserFeed> userFeeds;
+
+    @Autowired
+    public UserFeedCache(@Value("${user.feed-cache.max-size:10000}") long maxSize,
+                         @Value("${user.feed-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userFeeds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public UserFeed get(int userIdx, Function<Integer, UserFeed> loader) {
+        return userFeeds.get(userIdx, loader);
+    }
+
+    // 없으면 캐시에 넣지 않고 조회하는 경우에 사용 (hit/miss 모두 통계에 기록된다), 조회 후 캐시에 넣을 때는 get 을 사용한다
+    public UserFeed getIfPresent(int userIdx) {
+        return userFeeds.getIfPresent(userIdx);
+    }
+
+    // 로딩 중인 값이 있으면 로딩이 끝난 뒤에 지워지므로 이전 값이 다시 캐시되지 않는다
+    public void invalidate(int userIdx) {
+        userFeeds.invalidate(userIdx);
+    }
+
+    public GetCacheStatsRes getCacheStats() {
+        return GetCacheStatsRes.of("userFeed", userFeeds.estimatedSize(), userFeeds.stats());
+    }
+
+    /**
+     * 캐시되는 값 : 여러 요청이 공유하므로 수정하지 않는다
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class UserFeed {
+        private final GetUserInfoRes getUserInfo;
+        private final List<GetUserPostsRes> getUserPosts;
+    }
+}
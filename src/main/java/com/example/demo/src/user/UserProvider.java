@@ -6,13 +6,24 @@ import com.example.demo.src.user.model.GetUserFeedRes;
 import com.example.demo.src.user.model.GetUserInfoRes;
 import com.example.demo.src.user.model.GetUserPostsRes;
 import com.example.demo.src.user.model.GetUserRes;
+import com.example.demo.utils.ContentVersions;
+import com.example.demo.utils.DaoExecutor;
 import com.example.demo.utils.JwtService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 import static com.example.demo.config.BaseResponseStatus.DATABASE_ERROR;
 import static com.example.demo.config.BaseResponseStatus.USERS_EMPTY_USER_ID;
@@ -22,39 +33,100 @@ import static com.example.demo.config.BaseResponseStatus.USERS_EMPTY_USER_ID;
 public class UserProvider {
 
     private final UserDao userDao;
+    private final UserFeedCache userFeedCache;
+    private final DaoExecutor daoExecutor;
+    private final ContentVersions contentVersions;
     private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
 
 
     final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     @Autowired
-    public UserProvider(UserDao userDao, JwtService jwtService) {
+    public UserProvider(UserDao userDao, UserFeedCache userFeedCache, DaoExecutor daoExecutor, ContentVersions contentVersions, JwtService jwtService, ObjectMapper objectMapper) {
         this.userDao = userDao;
+        this.userFeedCache = userFeedCache;
+        this.daoExecutor = daoExecutor;
+        this.contentVersions = contentVersions;
         this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
     }
 
 
     public GetUserFeedRes retrieveUserFeed(int userIdxByJwt, int userIdx) throws BaseException{
         Boolean isMyFeed = true;
 
-        if (checkUserExist(userIdx) == 0) {
-            throw new BaseException(USERS_EMPTY_USER_ID);
+        // 캐시(UserFeedCache) 또는 DB 에서 프로필 / 게시물 목록 조회 (없는 유저면 USERS_EMPTY_USER_ID)
+        UserFeedCache.UserFeed userFeed = loadUserFeed(userIdx);
+
+        if (userIdxByJwt != userIdx) {
+            isMyFeed = false;
         }
+        GetUserFeedRes getUsersRes = new GetUserFeedRes(isMyFeed, userFeed.getGetUserInfo(), userFeed.getGetUserPosts());
+        return getUsersRes;
+    }
 
-        try{
-            if (userIdxByJwt != userIdx) {
-                isMyFeed = false;
+    /*
+    캐시에 없으면 유저 존재 확인 / 유저 정보 / 게시물 목록을 DaoExecutor 에서 동시에 조회해서 캐시에 넣는다
+    캐시 통계(hit/miss)가 요청마다 한 번만 기록되도록 캐시는 한 번만 조회한다
+    없는 유저면 USERS_EMPTY_USER_ID, 조회 실패 / 시간 초과는 DATABASE_ERROR
+     */
+    private UserFeedCache.UserFeed loadUserFeed(int userIdx) throws BaseException {
+        Function<Integer, UserFeedCache.UserFeed> loader = key -> {
+            CompletableFuture<Integer> userExist = daoExecutor.supply(() -> userDao.checkUserExist(key));
+            CompletableFuture<GetUserInfoRes> getUserInfo = daoExecutor.supply(() -> userDao.selectUserInfo(key));
+            CompletableFuture<List<GetUserPostsRes>> getUserPosts = daoExecutor.supply(() -> userDao.selectUserPosts(key));
+            if (userExist.join() == 0) {
+                getUserInfo.cancel(true);
+                getUserPosts.cancel(true);
+                throw new CompletionException(new BaseException(USERS_EMPTY_USER_ID));
+            }
+            return new UserFeedCache.UserFeed(getUserInfo.join(), Collections.unmodifiableList(getUserPosts.join()));
+        };
+        try {
+            // 방금 바뀐 유저는 복제 DB 에 아직 반영되지 않았을 수 있으므로 새로 읽은 값은 캐시에 넣지 않는다 (이전 값이 ETag 와 함께 오래 남지 않도록)
+            if (contentVersions.stamp(userIdx) == ContentVersions.UNSTABLE) {
+                UserFeedCache.UserFeed userFeed = userFeedCache.getIfPresent(userIdx);
+                return userFeed != null ? userFeed : loader.apply(userIdx);
+            }
+            return userFeedCache.get(userIdx, loader);
+        } catch (Exception exception) {
+            if (exception.getCause() instanceof BaseException) {
+                throw (BaseException) exception.getCause();
             }
-            GetUserInfoRes getUserInfo = userDao.selectUserInfo(userIdx);
-            List<GetUserPostsRes> getUserPosts = userDao.selectUserPosts(userIdx);
-            GetUserFeedRes getUsersRes = new GetUserFeedRes(isMyFeed, getUserInfo, getUserPosts);
-            return getUsersRes;
-        }
-        catch (Exception exception) {
             throw new BaseException(DATABASE_ERROR);
         }
     }
 
+    /*
+    프로필 ETag 용 stamp (DB 조회 없음)
+    @return stamp, 최근에 바뀐 유저면 ContentVersions.UNSTABLE
+     */
+    public long getUserFeedStamp(int userIdx) {
+        return contentVersions.stamp(userIdx);
+    }
+
+    /*
+    게시물 내보내기 : 조회되는 게시물을 한 줄에 하나씩(NDJSON) 바로 outputStream 에 쓴다
+    소켓 버퍼가 차면 write 가 막히고 그 동안 ResultSet 도 더 읽지 않으므로 게시물 수와 관계없이 메모리 사용량이 일정하다
+     */
+    public void exportUserPosts(int userIdx, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            // 최상위 값 사이에 기본으로 들어가는 공백(" ")을 빼고 줄바꿈만 쓴다
+            generator.setRootValueSeparator(null);
+            userDao.selectUserPostsForExport(userIdx, getUserPostExportRes -> {
+                try {
+                    generator.writeObject(getUserPostExportRes);
+                    generator.writeRaw('\n');
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
 
     public GetUserRes getUsersByIdx(int userIdx) throws BaseException{
         try{
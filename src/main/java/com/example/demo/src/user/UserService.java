@@ -6,13 +6,18 @@ import com.example.demo.config.BaseException;
 import com.example.demo.src.user.model.PatchUserReq;
 import com.example.demo.src.user.model.PostUserReq;
 import com.example.demo.src.user.model.PostUserRes;
+import com.example.demo.utils.ContentVersions;
+import com.example.demo.utils.DaoExecutor;
 import com.example.demo.utils.JwtService;
-import com.example.demo.utils.SHA256;
+import com.example.demo.utils.PasswordHashService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import static com.example.demo.config.BaseResponseStatus.*;
 
 // Service Create, Update, Delete 의 로직 처리
@@ -22,42 +27,47 @@ public class UserService {
 
     private final UserDao userDao;
     private final UserProvider userProvider;
+    private final UserFeedCache userFeedCache;
+    private final ContentVersions contentVersions;
     private final JwtService jwtService;
+    private final PasswordHashService passwordHashService;
+    private final DaoExecutor daoExecutor;
 
 
     @Autowired
-    public UserService(UserDao userDao, UserProvider userProvider, JwtService jwtService) {
+    public UserService(UserDao userDao, UserProvider userProvider, UserFeedCache userFeedCache, ContentVersions contentVersions, JwtService jwtService, PasswordHashService passwordHashService,
+                       DaoExecutor daoExecutor) {
         this.userDao = userDao;
         this.userProvider = userProvider;
+        this.userFeedCache = userFeedCache;
+        this.contentVersions = contentVersions;
         this.jwtService = jwtService;
-
+        this.passwordHashService = passwordHashService;
+        this.daoExecutor = daoExecutor;
     }
 
 
-    public PostUserRes createUser(PostUserReq postUserReq) throws BaseException {
+    // 비밀번호 암호화는 PasswordHashService 스레드 풀에서 처리하고, 결과는 CompletableFuture 로 돌려준다
+    // 유저 저장은 암호화 스레드를 DB 대기로 묶지 않도록 DaoExecutor 에서 이어서 실행한다 (연결 대상 / 동시 호출 제한은 이 요청 기준)
+    public CompletableFuture<PostUserRes> createUser(PostUserReq postUserReq) throws BaseException {
         // 이메일 중복 확인
         if(userProvider.checkEmail(postUserReq.getEmail()) ==1){
             throw new BaseException(DUPLICATED_EMAIL);
         }
 
-        String pwd;
-        try{
-            //암호화
-            pwd = new SHA256().encrypt(postUserReq.getPassword());
-            postUserReq.setPassword(pwd);
-            System.out.println("name : " + postUserReq.getName() + " nickName : " + postUserReq.getNickName() + " birth : " + postUserReq.getBirth() + " pwd : " + postUserReq.getPassword());
-        } catch (Exception ignored) {
-            throw new BaseException(PASSWORD_ENCRYPTION_ERROR);
-        }
-        try{
-            int userIdx = userDao.createUser(postUserReq);
-            //jwt 발급.
-            // TODO: jwt는 다음주차에서 배울 내용입니다!
-            String jwt = jwtService.createJwt(userIdx);
-            return new PostUserRes(jwt,userIdx);
-        } catch (Exception exception) {
-            throw new BaseException(DATABASE_ERROR);
-        }
+        //암호화
+        return passwordHashService.encrypt(postUserReq.getPassword())
+                .thenApplyAsync(pwd -> {
+                    postUserReq.setPassword(pwd);
+                    try{
+                        int userIdx = userDao.createUser(postUserReq);
+                        //jwt 발급.
+                        String jwt = jwtService.createJwt(userIdx);
+                        return new PostUserRes(jwt,userIdx);
+                    } catch (Exception exception) {
+                        throw new CompletionException(new BaseException(DATABASE_ERROR));
+                    }
+                }, daoExecutor.withCurrentRoute());
     }
 
     public void modifyUserName(PatchUserReq patchUserReq) throws BaseException {
@@ -66,6 +76,8 @@ public class UserService {
             if(result == 0){
                 throw new BaseException(MODIFY_FAIL_USERNAME);
             }
+            userFeedCache.invalidate(patchUserReq.getUserIdx());
+            contentVersions.touch(patchUserReq.getUserIdx());
         } catch(Exception exception){
             throw new BaseException(DATABASE_ERROR);
         }
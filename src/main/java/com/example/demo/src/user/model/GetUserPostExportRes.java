@@ -0,0 +1,18 @@
+package com.example.demo.src.user.model;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class GetUserPostExportRes {
+    private int postIdx;
+    private String content;
+    private String updatedAt;
+    private List<String> postImgUrls;
+}
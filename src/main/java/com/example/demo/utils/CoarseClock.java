@@ -0,0 +1,33 @@
+package com.example.demo.utils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1초마다 갱신되는 현재 시각
+ * "N초 전" 처럼 초 단위로만 보여주는 값은 매번 시계를 읽을 필요가 없고,
+ * 한 응답 안의 게시물들이 모두 같은 시각을 기준으로 계산된다.
+ */
+public final class CoarseClock {
+    private static final long TICK_MILLIS = 1000;
+
+    private static volatile long currentTimeMillis = System.currentTimeMillis();
+
+    static {
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "coarse-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> currentTimeMillis = System.currentTimeMillis(), TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private CoarseClock() {
+    }
+
+    // @return epoch millis, 실제 시각보다 최대 TICK_MILLIS 늦을 수 있다
+    public static long currentTimeMillis() {
+        return currentTimeMillis;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.utils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 유저별 콘텐츠 버전 (ETag 계산용)
+ * 유저의 게시물 / 프로필 / 카운트가 바뀌면 커밋 후 touch 로 버전(마지막 변경 시각)을 올리고,
+ * 조회 API 는 DB 조회 없이 버전만으로 stamp 를 만들어 If-None-Match 와 비교한다.
+ * - 버전은 userIdx 해시로 고정 크기 배열에 저장한다. 다른 유저와 칸이 겹치면 ETag 가 더 자주 바뀔 뿐 잘못된 304 는 생기지 않는다.
+ * - 서버마다 시작할 때 정한 epoch 가 섞이므로 재시작하면 모든 ETag 가 바뀐다.
+ * - 이 서버를 거치지 않은 변경(다른 서버에서 쓴 좋아요 / 팔로우 등)도 반영되도록 stamp 는 max-age-ms 마다 바뀐다.
+ * - 바뀐 지 settle-ms 가 지나지 않은 유저가 있으면 stamp 를 만들지 않는다 (복제 DB 에 아직 반영되지 않은 이전 값에 새 ETag 가 붙지 않도록).
+ */
+@Component
+public class ContentVersions {
+    // stamp 를 만들 수 없을 때 (최근에 바뀐 유저가 있음)
+    public static final long UNSTABLE = 0;
+
+    private final AtomicLongArray versions;
+    private final int mask;
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+    private final long settleMillis;
+    private final long maxAgeMillis;
+
+    @Autowired
+    public ContentVersions(@Value("${content-versions.slots:65536}") int slots,
+                           @Value("${content-versions.settle-ms:${spring.datasource.routing.read-your-writes-ms:3000}}") long settleMillis,
+                           @Value("${content-versions.max-age-ms:60000}") long maxAgeMillis) {
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.versions = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.settleMillis = settleMillis;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    // 유저의 콘텐츠가 바뀜 (커밋 후 호출)
+    public void touch(int userIdx) {
+        long now = System.currentTimeMillis();
+        versions.accumulateAndGet(slot(userIdx), now, (previous, current) -> Math.max(previous + 1, current));
+    }
+
+    // 여러 유저의 값이 한 번에 바뀜 (카운트 보정 등)
+    public void touchAll() {
+        long now = System.currentTimeMillis();
+        globalVersion.accumulateAndGet(now, (previous, current) -> Math.max(previous + 1, current));
+    }
+
+    /*
+    유저 한 명의 콘텐츠 stamp (프로필)
+    @return stamp, 최근에 바뀌었으면 UNSTABLE
+     */
+    public long stamp(int userIdx) {
+        long now = System.currentTimeMillis();
+        long settledBefore = now - settleMillis;
+        long global = globalVersion.get();
+        long version = versions.get(slot(userIdx));
+        if (global > settledBefore || version > settledBefore) {
+            return UNSTABLE;
+        }
+        return nonZero(mix(mix(epoch ^ global) + mix(now / maxAgeMillis) + mix(((long) userIdx << 32) ^ version)));
+    }
+
+    /*
+    유저 본인 + 팔로우 한 유저들의 콘텐츠 stamp (메인 화면), followeeIdxs 의 순서는 상관없다
+    @return stamp, 최근에 바뀐 유저가 있으면 UNSTABLE
+     */
+    public long stamp(int userIdx, int[] followeeIdxs) {
+        long settledBefore = System.currentTimeMillis() - settleMillis;
+        long own = stamp(userIdx);
+        if (own == UNSTABLE) {
+            return UNSTABLE;
+        }
+
+        long followees = followeeIdxs.length;
+        for (int followeeIdx : followeeIdxs) {
+            long version = versions.get(slot(followeeIdx));
+            if (version > settledBefore) {
+                return UNSTABLE;
+            }
+            followees += mix(((long) followeeIdx << 32) ^ version);
+        }
+        return nonZero(mix(own ^ mix(followees)));
+    }
+
+    private int slot(int userIdx) {
+        return (int) mix(userIdx) & mask;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static long nonZero(long stamp) {
+        return stamp == UNSTABLE ? 1 : stamp;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.utils;
+
+import com.example.demo.config.BaseException;
+import com.example.demo.config.datasource.DataSourceRoute;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.demo.config.BaseResponseStatus.DATABASE_ERROR;
+import static com.example.demo.config.BaseResponseStatus.SERVER_ERROR;
+
+/**
+ * DaoConcurrencyLimiter 적용
+ * - 요청에서 처음 호출되는 Provider / Service 는 limit 가 이미 차 있으면 아무것도 하지 않고 SERVER_ERROR 로 끝낸다.
+ *   (DataSourceRoutingAspect 보다 먼저 실행되므로 DataSourceRoute 가 없으면 가장 바깥 호출이다)
+ * - Dao 호출은 limit 안에서만 실행하고 응답 시간을 기록한다. 그 사이에 limit 가 차면 DaoConcurrencyLimitException 으로 바로 끝내고,
+ *   요청은 (Provider / Service 가 DATABASE_ERROR 로 바꿔 던져도) SERVER_ERROR 로 끝낸다.
+ * - @NoDaoConcurrencyLimit 가 붙은 Dao 호출(게시물 내보내기 스트리밍)은 클라이언트가 받는 동안 limit 자리를 차지하지 않도록 제한하지 않는다.
+ * Provider / Service 를 거치지 않는 Dao 호출(서버 시작 시 팔로우 그래프 로드 등 백그라운드 작업)은 제한하지 않는다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DaoConcurrencyLimitAspect {
+
+    // 가장 바깥 Provider / Service 호출 동안 Dao 호출이 거절된 적이 있는지
+    private static final ThreadLocal<AtomicBoolean> REQUEST_REJECTED = new ThreadLocal<>();
+
+    private final DaoConcurrencyLimiter daoConcurrencyLimiter;
+
+    @Autowired
+    public DaoConcurrencyLimitAspect(DaoConcurrencyLimiter daoConcurrencyLimiter) {
+        this.daoConcurrencyLimiter = daoConcurrencyLimiter;
+    }
+
+    @Around("execution(public * com.example.demo.src..*Provider.*(..) throws com.example.demo.config.BaseException)"
+            + " || execution(public * com.example.demo.src..*Service.*(..) throws com.example.demo.config.BaseException)")
+    public Object shedRequest(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (DataSourceRoute.current() != null || RequestContextHolder.getRequestAttributes() == null) {
+            return joinPoint.proceed();
+        }
+        if (daoConcurrencyLimiter.isSaturated()) {
+            throw new BaseException(SERVER_ERROR);
+        }
+
+        AtomicBoolean rejected = new AtomicBoolean();
+        AtomicBoolean previous = enterRequest(rejected);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            // Provider / Service 가 DaoConcurrencyLimitException 을 DATABASE_ERROR 로 바꿔 던지므로 (원인은 버려짐) 요청 중 거절된 적이 있는지로도 판단한다
+            if (isRejection(throwable) || rejected.get() && BaseException.statusOf(throwable) == DATABASE_ERROR) {
+                throw new BaseException(SERVER_ERROR);
+            }
+            throw throwable;
+        } finally {
+            restoreRequest(previous);
+        }
+    }
+
+    // @annotation 대신 execution 안에서 제외해야 호출마다 pointcut 을 다시 확인하지 않는다
+    @Around("execution(!@com.example.demo.utils.NoDaoConcurrencyLimit public * com.example.demo.src..*Dao.*(..))")
+    public Object limitDao(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (DataSourceRoute.current() == null) {
+            return joinPoint.proceed();
+        }
+        if (!daoConcurrencyLimiter.tryAcquire()) {
+            AtomicBoolean rejected = REQUEST_REJECTED.get();
+            if (rejected != null) {
+                rejected.set(true);
+            }
+            throw new DaoConcurrencyLimitException(daoConcurrencyLimiter.getLimit());
+        }
+        long startedAt = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            daoConcurrencyLimiter.release(System.nanoTime() - startedAt);
+        }
+    }
+
+    // 현재 요청의 거절 여부 (DaoExecutor 가 다른 스레드로 넘긴다), 요청 밖이면 null
+    static AtomicBoolean currentRequest() {
+        return REQUEST_REJECTED.get();
+    }
+
+    // @return 이전 값 (restoreRequest 에 넘겨서 되돌림)
+    static AtomicBoolean enterRequest(AtomicBoolean rejected) {
+        AtomicBoolean previous = REQUEST_REJECTED.get();
+        REQUEST_REJECTED.set(rejected);
+        return previous;
+    }
+
+    static void restoreRequest(AtomicBoolean previous) {
+        if (previous == null) {
+            REQUEST_REJECTED.remove();
+        } else {
+            REQUEST_REJECTED.set(previous);
+        }
+    }
+
+    // Caffeine / CompletableFuture 등이 감싼 예외의 원인까지 확인
+    private static boolean isRejection(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof DaoConcurrencyLimitException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
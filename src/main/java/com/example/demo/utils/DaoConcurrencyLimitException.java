@@ -0,0 +1,13 @@
+package com.example.demo.utils;
+
+/**
+ * Dao 동시 호출 제한(DaoConcurrencyLimiter)에 걸려서 조회를 실행하지 않음
+ * Provider / Service 의 기존 예외 처리를 그대로 타도록 unchecked 예외로 둔다.
+ */
+public class DaoConcurrencyLimitException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public DaoConcurrencyLimitException(int limit) {
+        super("Dao 동시 호출 제한 초과 (limit " + limit + ")", null, false, false);
+    }
+}
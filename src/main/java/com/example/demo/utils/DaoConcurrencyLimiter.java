@@ -0,0 +1,188 @@
+package com.example.demo.utils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DB 동시 조회 수 제한 (Gradient 방식으로 limit 를 스스로 조정)
+ * 실행 중인 Dao 호출 수가 limit 이상이면 기다리지 않고 바로 거절한다 (DaoConcurrencyLimitAspect).
+ * window-ms 마다 그 동안의 평균 응답 시간(short RTT)을 DB 가 한가할 때의 응답 시간(no-load RTT)과 비교해서
+ * DB 가 느려지면(short RTT 가 rtt-tolerance 배보다 길어지면) limit 를 줄이고, 그대로면 sqrt(limit) 만큼씩 늘린다.
+ * - no-load RTT 는 지금까지 본 short RTT 의 최솟값이며, 데이터가 늘어서 DB 가 계속 느려진 경우도 따라가도록 천천히 올라간다.
+ * - 커넥션 풀 대기 시간도 응답 시간에 들어가므로 limit 는 DB 가 감당하는 동시 조회 수 근처로 수렴한다.
+ * - limit 의 절반도 쓰지 않는 동안은 늘리지 않는다 (요청이 적어서 생긴 여유를 DB 여유로 보지 않도록).
+ * - 처음 limit(initial-limit)는 HikariCP 기본 풀 크기(10)로 시작한다. 처음부터 붐비는 상태에서 시작하면 no-load RTT 가 높게 잡힌다.
+ * - max-sample-ms 보다 오래 걸린 호출(내보내기 등 스트리밍 조회)은 응답 시간 계산에서 뺀다.
+ */
+@Component
+public class DaoConcurrencyLimiter {
+    // no-load RTT 가 short RTT 쪽으로 올라가는 속도 (window 하나에 차이의 1 / NO_LOAD_WINDOWS)
+    private static final int NO_LOAD_WINDOWS = 600;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejectedAtEntry = new LongAdder();
+    private final LongAdder rejectedAtDao = new LongAdder();
+    private volatile Window window = new Window(System.nanoTime());
+    private volatile int limit;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final long maxSampleNanos;
+
+    // updateLimit 에서만 사용 (synchronized)
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double noLoadRttNanos;
+
+    @Autowired
+    public DaoConcurrencyLimiter(@Value("${dao.concurrency-limit.initial-limit:10}") int initialLimit,
+                                 @Value("${dao.concurrency-limit.min-limit:4}") int minLimit,
+                                 @Value("${dao.concurrency-limit.max-limit:200}") int maxLimit,
+                                 @Value("${dao.concurrency-limit.rtt-tolerance:1.5}") double tolerance,
+                                 @Value("${dao.concurrency-limit.smoothing:0.2}") double smoothing,
+                                 @Value("${dao.concurrency-limit.window-ms:100}") long windowMillis,
+                                 @Value("${dao.concurrency-limit.min-window-samples:10}") int minWindowSamples,
+                                 @Value("${dao.concurrency-limit.max-sample-ms:2000}") long maxSampleMillis) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.minWindowSamples = minWindowSamples;
+        this.maxSampleNanos = TimeUnit.MILLISECONDS.toNanos(maxSampleMillis);
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /*
+    Dao 호출 시작
+    @return 허용되면 true (끝나면 반드시 release), limit 에 걸리면 false
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejectedAtDao.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                window.maxInFlight.accumulate(current + 1);
+                return true;
+            }
+        }
+    }
+
+    // Dao 호출 끝 : 응답 시간을 기록하고 window 가 지났으면 limit 다시 계산
+    public void release(long elapsedNanos) {
+        inFlight.decrementAndGet();
+        Window current = window;
+        if (elapsedNanos <= maxSampleNanos) {
+            current.rttSum.add(elapsedNanos);
+            current.samples.increment();
+        }
+        if (System.nanoTime() - current.startedAt >= windowNanos && current.samples.sum() >= minWindowSamples) {
+            updateLimit(current);
+        }
+    }
+
+    // Provider / Service 시작 전 확인 : 이미 limit 만큼 실행 중이면 요청을 시작하지 않는다
+    public boolean isSaturated() {
+        if (inFlight.get() >= limit) {
+            rejectedAtEntry.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /*
+    Prometheus 텍스트 형식 (gauge / counter)
+    GET /internal/metrics 에서 RequestMetrics 뒤에 붙인다
+     */
+    public String toPrometheusText() {
+        StringBuilder builder = new StringBuilder(1024);
+        builder.append("# HELP dao_concurrency_limit Dao 동시 호출 제한 (현재 값)\n");
+        builder.append("# TYPE dao_concurrency_limit gauge\n");
+        builder.append("dao_concurrency_limit ").append(limit).append('\n');
+        builder.append("# HELP dao_concurrency_in_flight 실행 중인 Dao 호출 수\n");
+        builder.append("# TYPE dao_concurrency_in_flight gauge\n");
+        builder.append("dao_concurrency_in_flight ").append(inFlight.get()).append('\n');
+        builder.append("# HELP dao_concurrency_rejected_total 동시 호출 제한으로 거절한 수 (entry: Provider/Service 시작 전, dao: Dao 호출 시)\n");
+        builder.append("# TYPE dao_concurrency_rejected_total counter\n");
+        builder.append("dao_concurrency_rejected_total{stage=\"entry\"} ").append(rejectedAtEntry.sum()).append('\n');
+        builder.append("dao_concurrency_rejected_total{stage=\"dao\"} ").append(rejectedAtDao.sum()).append('\n');
+        double shortRtt;
+        double noLoadRtt;
+        synchronized (this) {
+            shortRtt = shortRttNanos;
+            noLoadRtt = noLoadRttNanos;
+        }
+        builder.append("# HELP dao_concurrency_rtt_seconds Dao 평균 응답 시간 (short: 마지막 window, no_load: 기준값)\n");
+        builder.append("# TYPE dao_concurrency_rtt_seconds gauge\n");
+        builder.append("dao_concurrency_rtt_seconds{window=\"short\"} ").append(toSeconds(shortRtt)).append('\n');
+        builder.append("dao_concurrency_rtt_seconds{window=\"no_load\"} ").append(toSeconds(noLoadRtt)).append('\n');
+        return builder.toString();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void updateLimit(Window finished) {
+        // 다른 스레드가 이미 계산했음
+        if (finished != window) {
+            return;
+        }
+        window = new Window(System.nanoTime());
+
+        // 바뀌기 전 window 에 더하던 기록이 빠질 수 있지만 평균에는 영향이 거의 없다
+        long samples = finished.samples.sum();
+        shortRttNanos = (double) finished.rttSum.sum() / samples;
+        if (noLoadRttNanos == 0 || shortRttNanos < noLoadRttNanos) {
+            noLoadRttNanos = shortRttNanos;
+        } else {
+            noLoadRttNanos += (shortRttNanos - noLoadRttNanos) / NO_LOAD_WINDOWS;
+        }
+
+        if (finished.maxInFlight.get() < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * noLoadRttNanos / shortRttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    private static String toSeconds(double nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / 1_000_000_000.0);
+    }
+
+    // window 하나 동안의 응답 시간 합계 / 개수, 최대 동시 호출 수
+    private static class Window {
+        private final long startedAt;
+        private final LongAdder rttSum = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+        private final LongAccumulator maxInFlight = new LongAccumulator(Math::max, 0);
+
+        Window(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
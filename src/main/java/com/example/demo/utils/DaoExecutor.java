@@ -0,0 +1,142 @@
+package com.example.demo.utils;
+
+import com.example.demo.config.datasource.DataSourceRoute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 서로 독립적인 Dao 조회를 동시에 실행하기 위한 전용 스레드 풀
+ * 호출한 스레드의 DataSourceRoute 를 그대로 넘겨서 Provider 에서 시작한 조회는 복제 DB 로 간다.
+ * (DaoConcurrencyLimitAspect 가 요청의 Dao 호출 거절을 기록하는 값도 함께 넘긴다)
+ * 조회마다 timeout-ms 가 지나면 TimeoutException 으로 끝내고 실행 중인 작업은 interrupt 한다.
+ * 대기열이 가득 차면 호출한 스레드에서 바로 실행한다 (순서대로 조회하던 기존과 같은 동작).
+ */
+@Component
+public class DaoExecutor {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timer;
+    private final long timeoutMillis;
+
+    @Autowired
+    public DaoExecutor(@Value("${dao.executor.threads:16}") int threads,
+                       @Value("${dao.executor.queue-capacity:200}") int queueCapacity,
+                       @Value("${dao.executor.timeout-ms:2000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dao-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "dao-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 대부분의 조회는 시간 안에 끝나므로 취소된 타이머는 바로 대기열에서 뺀다
+        timer.setRemoveOnCancelPolicy(true);
+        this.timer = timer;
+    }
+
+    /*
+    query 를 전용 스레드 풀에서 실행
+    @return CompletableFuture, 실패하면 query 가 던진 예외 또는 TimeoutException 으로 끝난다. cancel 하면 실행 중인 query 를 interrupt 한다
+     */
+    public <T> CompletableFuture<T> supply(Callable<T> query) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        DataSourceRoute route = DataSourceRoute.current();
+        AtomicBoolean requestRejected = DaoConcurrencyLimitAspect.currentRequest();
+        Runnable task = () -> {
+            DataSourceRoute previous = DataSourceRoute.enter(route);
+            AtomicBoolean previousRejected = DaoConcurrencyLimitAspect.enterRequest(requestRejected);
+            try {
+                result.complete(query.call());
+            } catch (Throwable throwable) {
+                result.completeExceptionally(throwable);
+            } finally {
+                DaoConcurrencyLimitAspect.restoreRequest(previousRejected);
+                DataSourceRoute.restore(previous);
+            }
+        };
+
+        Future<?> submitted;
+        try {
+            submitted = executor.submit(task);
+        } catch (RejectedExecutionException exception) {
+            task.run();
+            return result;
+        }
+
+        ScheduledFuture<?> timeout = timer.schedule(() -> {
+            if (result.completeExceptionally(new TimeoutException("Dao 조회 시간 초과 (" + timeoutMillis + "ms)"))) {
+                logger.warn("Dao 조회 시간 초과 ({}ms)", timeoutMillis);
+                submitted.cancel(true);
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        result.whenComplete((value, throwable) -> {
+            timeout.cancel(false);
+            if (result.isCancelled()) {
+                submitted.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /*
+    호출한 스레드의 DataSourceRoute 를 가지고 전용 스레드 풀에서 실행하는 Executor (CompletableFuture.thenApplyAsync 등에 넘긴다)
+    다른 풀(비밀번호 암호화 등)의 결과를 받아 이어서 DB 에 쓸 때 사용하며, 쓰기가 중간에 끊기지 않도록 supply 와 달리 timeout / interrupt 하지 않는다
+     */
+    public Executor withCurrentRoute() {
+        DataSourceRoute route = DataSourceRoute.current();
+        AtomicBoolean requestRejected = DaoConcurrencyLimitAspect.currentRequest();
+        return task -> {
+            Runnable routedTask = () -> {
+                DataSourceRoute previous = DataSourceRoute.enter(route);
+                AtomicBoolean previousRejected = DaoConcurrencyLimitAspect.enterRequest(requestRejected);
+                try {
+                    task.run();
+                } finally {
+                    DaoConcurrencyLimitAspect.restoreRequest(previousRejected);
+                    DataSourceRoute.restore(previous);
+                }
+            };
+            try {
+                executor.execute(routedTask);
+            } catch (RejectedExecutionException exception) {
+                routedTask.run();
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        timer.shutdownNow();
+    }
+}
@@ -2,23 +2,87 @@ package com.example.demo.utils;
 
 
 import com.example.demo.config.BaseException;
+import com.example.demo.config.BaseResponseStatus;
 import com.example.demo.config.secret.Secret;
+import com.example.demo.src.internal.model.GetCacheStatsRes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.servlet.http.HttpServletRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 import static com.example.demo.config.BaseResponseStatus.*;
 
 @Service
 public class JwtService {
 
+    public static final String JWT_HEADER = "X-ACCESS-TOKEN";
+    // JwtAuthenticationFilter 에서 검증한 결과를 담는 request attribute
+    public static final String USER_IDX_ATTRIBUTE = JwtService.class.getName() + ".userIdx";
+    public static final String JWT_STATUS_ATTRIBUTE = JwtService.class.getName() + ".status";
+
+    // Secret.JWT_SECRET_KEY 를 매번 Base64 디코딩하지 않도록 미리 변환해 둔 서명 키
+    private static final byte[] SIGNING_KEY = TextCodec.BASE64.decode(Secret.JWT_SECRET_KEY);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    });
+
+    // 검증된 JWT 의 digest -> userIdx (JWT 만료 시각까지만 보관)
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    @Autowired
+    public JwtService(@Value("${jwt.cache.max-size:100000}") long maxSize,
+                      @Value("${jwt.cache.max-ttl-seconds:600}") long maxTtlSeconds) {
+        long maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+                        if (value.getExpiresAt() == null) {
+                            return maxTtlNanos;
+                        }
+                        long untilExpiration = TimeUnit.MILLISECONDS.toNanos(value.getExpiresAt().getTime() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(untilExpiration, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
     /*
     JWT 생성
     @param userIdx
@@ -31,7 +95,7 @@ public class JwtService {
                 .claim("userIdx",userIdx)
                 .setIssuedAt(now)
                 .setExpiration(new Date(System.currentTimeMillis()+1*(1000*60*60*24*365)))
-                .signWith(SignatureAlgorithm.HS256, Secret.JWT_SECRET_KEY)
+                .signWith(SignatureAlgorithm.HS256, SIGNING_KEY)
                 .compact();
     }
 
@@ -41,33 +105,75 @@ public class JwtService {
      */
     public String getJwt(){
         HttpServletRequest request = ((ServletRequestAttributes)RequestContextHolder.currentRequestAttributes()).getRequest();
-        return request.getHeader("X-ACCESS-TOKEN");
+        return request.getHeader(JWT_HEADER);
     }
 
     /*
     JWT에서 userIdx 추출
+    JwtAuthenticationFilter 에서 이미 검증한 경우 그 결과를 사용
     @return int
     @throws BaseException
      */
     public int getUserIdx() throws BaseException{
+        HttpServletRequest request = ((ServletRequestAttributes)RequestContextHolder.currentRequestAttributes()).getRequest();
+        Object userIdx = request.getAttribute(USER_IDX_ATTRIBUTE);
+        if (userIdx != null) {
+            return (Integer) userIdx;
+        }
+        Object status = request.getAttribute(JWT_STATUS_ATTRIBUTE);
+        if (status != null) {
+            throw new BaseException((BaseResponseStatus) status);
+        }
+
         //1. JWT 추출
-        String accessToken = getJwt();
+        return verifyJwt(getJwt());
+    }
+
+    /*
+    JWT 검증 후 userIdx 추출
+    @return int
+    @throws BaseException
+     */
+    public int verifyJwt(String accessToken) throws BaseException{
         if(accessToken == null || accessToken.length() == 0){
             throw new BaseException(EMPTY_JWT);
         }
 
-        // 2. JWT parsing
+        // 2. 이미 검증한 JWT 면 parsing 생략
+        ByteBuffer digest = ByteBuffer.wrap(SHA_256.get().digest(accessToken.getBytes(StandardCharsets.UTF_8)));
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(digest);
+        if (verifiedToken != null) {
+            return verifiedToken.getUserIdx();
+        }
+
+        // 3. JWT parsing
         Jws<Claims> claims;
         try{
             claims = Jwts.parser()
-                    .setSigningKey(Secret.JWT_SECRET_KEY)
+                    .setSigningKey(SIGNING_KEY)
                     .parseClaimsJws(accessToken);
         } catch (Exception ignored) {
             throw new BaseException(INVALID_JWT);
         }
 
-        // 3. userIdx 추출
-        return claims.getBody().get("userIdx",Integer.class);
+        // 4. userIdx 추출
+        Integer userIdx = claims.getBody().get("userIdx",Integer.class);
+        if (userIdx == null) {
+            throw new BaseException(INVALID_JWT);
+        }
+        verifiedTokens.put(digest, new VerifiedToken(userIdx, claims.getBody().getExpiration()));
+        return userIdx;
+    }
+
+    public GetCacheStatsRes getCacheStats() {
+        return GetCacheStatsRes.of("verifiedJwt", verifiedTokens.estimatedSize(), verifiedTokens.stats());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class VerifiedToken {
+        private final int userIdx;
+        private final Date expiresAt;
     }
 
 }
@@ -0,0 +1,110 @@
+package com.example.demo.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 응답 시간 히스토그램 (HdrHistogram 과 같은 log-linear 구간, 마이크로초 단위)
+ * 2 의 거듭제곱 구간마다 32 개로 나누므로 오차는 약 3% 이내이며, 1µs ~ 약 12일 범위를 고정된 배열 하나로 기록한다.
+ * record 는 락과 객체 생성 없이 원자적 증가만 하므로 요청 스레드에서 바로 호출해도 된다.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long micros) {
+        if (micros < 0) {
+            micros = 0;
+        }
+        counts.incrementAndGet(indexOf(micros));
+        totalMicros.addAndGet(micros);
+        long max = maxMicros.get();
+        while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    // 기록 중에도 호출할 수 있으며, 그 순간의 구간별 개수를 복사한다
+    public Snapshot snapshot() {
+        long[] snapshotCounts = new long[BUCKET_COUNT];
+        long totalCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshotCounts[i] = counts.get(i);
+            totalCount += snapshotCounts[i];
+        }
+        return new Snapshot(snapshotCounts, totalCount, totalMicros.get(), maxMicros.get());
+    }
+
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((micros >>> shift) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    // 구간에 속하는 가장 큰 값 (분위수는 보수적으로 구간의 상한으로 보고한다)
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowest = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    public static class Snapshot {
+        private final long[] counts;
+        private final long totalCount;
+        private final long totalMicros;
+        private final long maxMicros;
+
+        Snapshot(long[] counts, long totalCount, long totalMicros, long maxMicros) {
+            this.counts = counts;
+            this.totalCount = totalCount;
+            this.totalMicros = totalMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        /*
+        분위수 값 (quantile 은 0 ~ 1, 예: p99 = 0.99)
+        @return 마이크로초, 기록이 없으면 0
+         */
+        public long valueAtQuantile(double quantile) {
+            if (totalCount == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestEquivalentValue(i), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        public long getTotalMicros() {
+            return totalMicros;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+    }
+}
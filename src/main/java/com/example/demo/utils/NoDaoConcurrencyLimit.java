@@ -0,0 +1,16 @@
+package com.example.demo.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * DaoConcurrencyLimiter 를 적용하지 않는 Dao 메소드
+ * 결과를 스트리밍하는 조회처럼 클라이언트가 받는 속도에 따라 오래 걸리는 호출이 limit 자리를 차지하지 않도록 한다.
+ * 이런 호출은 동시에 실행되는 수를 요청 수 제한(RateLimitFilter)으로 따로 막아야 한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NoDaoConcurrencyLimit {
+}
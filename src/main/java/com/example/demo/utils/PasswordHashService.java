@@ -0,0 +1,130 @@
+package com.example.demo.utils;
+
+import com.example.demo.config.BaseException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.example.demo.config.BaseResponseStatus.PASSWORD_ENCRYPTION_ERROR;
+import static com.example.demo.config.BaseResponseStatus.PASSWORD_HASHING_BUSY;
+
+/**
+ * 비밀번호 암호화 전용 스레드 풀
+ * BCrypt 처럼 일부러 느린 해시를 요청 스레드(Tomcat)에서 돌리면 로그인이 몰릴 때 모든 요청 스레드가 묶이므로,
+ * 크기가 제한된 별도 풀에서 처리하고 대기열이 가득 차면 바로 PASSWORD_HASHING_BUSY 로 응답한다.
+ * 기존 SHA-256 해시로 저장된 비밀번호는 로그인 성공 시 BCrypt 해시로 바꿔 저장한다.
+ */
+@Service
+public class PasswordHashService {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public PasswordHashService(@Value("${password.hash.bcrypt-strength:10}") int strength,
+                               @Value("${password.hash.threads:0}") int threads,
+                               @Value("${password.hash.queue-capacity:200}") int queueCapacity) {
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /*
+    비밀번호 암호화 (BCrypt)
+    @return CompletableFuture<String>
+     */
+    public CompletableFuture<String> encrypt(String password) {
+        return submit(() -> passwordEncoder.encode(password));
+    }
+
+    /*
+    비밀번호 확인, 저장된 해시가 SHA-256 이거나 BCrypt 강도가 설정보다 낮으면 새 해시를 같이 돌려준다
+    @return CompletableFuture<PasswordMatch>
+     */
+    public CompletableFuture<PasswordMatch> matches(String password, String storedHash) {
+        return submit(() -> {
+            if (isLegacyHash(storedHash)) {
+                boolean matched = MessageDigest.isEqual(
+                        SHA256.encrypt(password).getBytes(StandardCharsets.US_ASCII),
+                        storedHash.toLowerCase().getBytes(StandardCharsets.US_ASCII));
+                return new PasswordMatch(matched, matched ? passwordEncoder.encode(password) : null);
+            }
+
+            boolean matched = passwordEncoder.matches(password, storedHash);
+            String upgradedHash = matched && passwordEncoder.upgradeEncoding(storedHash) ? passwordEncoder.encode(password) : null;
+            return new PasswordMatch(matched, upgradedHash);
+        });
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (Exception exception) {
+                    logger.error("비밀번호 암호화 실패", exception);
+                    future.completeExceptionally(new BaseException(PASSWORD_ENCRYPTION_ERROR));
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            future.completeExceptionally(new BaseException(PASSWORD_HASHING_BUSY));
+        }
+        return future;
+    }
+
+    // SHA256.encrypt 로 저장된 기존 해시 (16진수 64자리)
+    private static boolean isLegacyHash(String storedHash) {
+        if (storedHash == null || storedHash.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < storedHash.length(); i++) {
+            if (Character.digit(storedHash.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PasswordMatch {
+        private final boolean matched;
+        private final String upgradedHash; // 새로 저장해야 할 해시, 필요 없으면 null
+    }
+}
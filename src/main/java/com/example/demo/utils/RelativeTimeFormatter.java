@@ -0,0 +1,61 @@
+package com.example.demo.utils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 게시물 수정 시각을 "N초 전 / N분 전 / N시간 전 / N일 전" 으로 표시
+ * 예전에 SQL 의 timestampdiff CASE 문으로 만들던 값과 같으며, 1년 이상이면 지난 햇수만 숫자로 표시한다.
+ * 조회 결과에 현재 시각이 들어가지 않으므로 조회 결과를 캐시해도 응답(직렬화) 시점의 값으로 표시된다.
+ */
+public final class RelativeTimeFormatter {
+    private static final long SECOND = 1000;
+    private static final long MINUTE = 60 * SECOND;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+
+    // 자주 쓰이는 문자열은 미리 만들어 두고 재사용
+    private static final String[] SECONDS_AGO = labels(60, "초 전");
+    private static final String[] MINUTES_AGO = labels(60, "분 전");
+    private static final String[] HOURS_AGO = labels(24, "시간 전");
+    private static final String[] DAYS_AGO = labels(365, "일 전");
+
+    private RelativeTimeFormatter() {
+    }
+
+    public static String format(long epochMillis) {
+        return format(epochMillis, CoarseClock.currentTimeMillis());
+    }
+
+    static String format(long epochMillis, long nowMillis) {
+        // 시계 차이로 미래 시각이 되면 방금 수정한 것으로 본다
+        long elapsed = Math.max(0, nowMillis - epochMillis);
+        if (elapsed < MINUTE) {
+            return SECONDS_AGO[(int) (elapsed / SECOND)];
+        }
+        if (elapsed < HOUR) {
+            return MINUTES_AGO[(int) (elapsed / MINUTE)];
+        }
+        if (elapsed < DAY) {
+            return HOURS_AGO[(int) (elapsed / HOUR)];
+        }
+        if (elapsed < 365 * DAY) {
+            return DAYS_AGO[(int) (elapsed / DAY)];
+        }
+        // timestampdiff(year, ...) 와 같이 달력 기준으로 꽉 찬 햇수
+        ZoneId zone = ZoneId.systemDefault();
+        return String.valueOf(ChronoUnit.YEARS.between(
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), zone)));
+    }
+
+    private static String[] labels(int count, String suffix) {
+        String[] labels = new String[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = i + suffix;
+        }
+        return labels;
+    }
+}
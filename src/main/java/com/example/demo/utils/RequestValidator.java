@@ -0,0 +1,87 @@
+package com.example.demo.utils;
+
+import com.example.demo.config.BaseResponseStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.example.demo.config.BaseResponseStatus.SUCCESS;
+
+/**
+ * 요청 DTO 형식적 validation
+ * DTO 타입별로 규칙을 한 번만 만들어 두고(RequestValidators), 검증할 때는 규칙 배열을 순서대로 확인만 하므로 객체를 만들지 않는다.
+ */
+public final class RequestValidator<T> {
+
+    private final Rule<T>[] rules;
+
+    private RequestValidator(Rule<T>[] rules) {
+        this.rules = rules;
+    }
+
+    /*
+    @return 처음 위반한 규칙의 BaseResponseStatus, 모두 통과하면 SUCCESS
+     */
+    public BaseResponseStatus validate(T request) {
+        for (Rule<T> rule : rules) {
+            BaseResponseStatus status = rule.check(request);
+            if (status != null) {
+                return status;
+            }
+        }
+        return SUCCESS;
+    }
+
+    public static <T> Builder<T> of(Class<T> type) {
+        return new Builder<>();
+    }
+
+    public static class Builder<T> {
+        private final List<Rule<T>> rules = new ArrayList<>();
+
+        public Builder<T> required(Function<T, ?> field, BaseResponseStatus status) {
+            rules.add(request -> field.apply(request) == null ? status : null);
+            return this;
+        }
+
+        // null 은 통과 (required 로 따로 확인)
+        public Builder<T> email(Function<T, String> field, BaseResponseStatus status) {
+            rules.add(request -> {
+                String value = field.apply(request);
+                return value == null || ValidationScanner.isEmail(value) ? null : status;
+            });
+            return this;
+        }
+
+        // null 도 위반
+        public Builder<T> maxLength(Function<T, String> field, int maxLength, BaseResponseStatus status) {
+            rules.add(request -> {
+                String value = field.apply(request);
+                return value == null || value.length() > maxLength ? status : null;
+            });
+            return this;
+        }
+
+        // null 도 위반
+        public Builder<T> notEmpty(Function<T, ? extends Collection<?>> field, BaseResponseStatus status) {
+            rules.add(request -> {
+                Collection<?> value = field.apply(request);
+                return value == null || value.isEmpty() ? status : null;
+            });
+            return this;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public RequestValidator<T> build() {
+            return new RequestValidator<>(rules.toArray(new Rule[0]));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Rule<T> {
+        // @return 위반 시 BaseResponseStatus, 통과하면 null
+        BaseResponseStatus check(T request);
+    }
+}
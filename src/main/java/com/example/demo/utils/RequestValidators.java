@@ -0,0 +1,46 @@
+package com.example.demo.utils;
+
+import com.example.demo.src.auth.model.PostLoginReq;
+import com.example.demo.src.post.model.PatchPostsReq;
+import com.example.demo.src.post.model.PostPostsReq;
+import com.example.demo.src.user.model.PostUserReq;
+
+import static com.example.demo.config.BaseResponseStatus.*;
+
+/**
+ * 요청 DTO 별 validation 규칙 (규칙 순서 = 확인 순서)
+ */
+public class RequestValidators {
+    public static final int POST_CONTENT_MAX_LENGTH = 450;
+
+    private RequestValidators() {
+    }
+
+    // [POST] /users
+    public static final RequestValidator<PostUserReq> POST_USER_REQ = RequestValidator.of(PostUserReq.class)
+            .required(PostUserReq::getEmail, POST_USERS_EMPTY_EMAIL)
+            .required(PostUserReq::getPassword, POST_USERS_EMPTY_PASSWORD)
+            .required(PostUserReq::getName, POST_USERS_EMPTY_NAME)
+            .required(PostUserReq::getBirth, POST_USERS_EMPTY_BIRTHDAY)
+            .required(PostUserReq::getNickName, POST_USERS_EMPTY_NICKNAME)
+            .email(PostUserReq::getEmail, POST_USERS_INVALID_EMAIL)
+            .build();
+
+    // [POST] /auth/login
+    public static final RequestValidator<PostLoginReq> POST_LOGIN_REQ = RequestValidator.of(PostLoginReq.class)
+            .required(PostLoginReq::getEmail, POST_USERS_EMPTY_EMAIL)
+            .required(PostLoginReq::getPwd, POST_USERS_EMPTY_PASSWORD)
+            .email(PostLoginReq::getEmail, POST_USERS_INVALID_EMAIL)
+            .build();
+
+    // [POST] /posts, /posts/bulk
+    public static final RequestValidator<PostPostsReq> POST_POSTS_REQ = RequestValidator.of(PostPostsReq.class)
+            .maxLength(PostPostsReq::getContent, POST_CONTENT_MAX_LENGTH, POST_POSTS_INVALID_CONTENTS)
+            .notEmpty(PostPostsReq::getPostImgUrls, POST_POSTS_EMPTY_IMGURL)
+            .build();
+
+    // [PATCH] /posts/:postIdx
+    public static final RequestValidator<PatchPostsReq> PATCH_POSTS_REQ = RequestValidator.of(PatchPostsReq.class)
+            .maxLength(PatchPostsReq::getContent, POST_CONTENT_MAX_LENGTH, POST_POSTS_INVALID_CONTENTS)
+            .build();
+}
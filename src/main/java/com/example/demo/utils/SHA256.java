@@ -1,37 +1,31 @@
 package com.example.demo.utils;
 
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 public class SHA256 {
-    public SHA256() {
-    }
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
 
-    public static String encrypt(String planText) {
+    // MessageDigest 는 thread-safe 하지 않으므로 스레드별로 재사용
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            md.update(planText.getBytes());
-            byte[] byteData = md.digest();
-            StringBuffer sb = new StringBuffer();
-
-            for(int i = 0; i < byteData.length; ++i) {
-                sb.append(Integer.toString((byteData[i] & 255) + 256, 16).substring(1));
-            }
-
-            StringBuffer hexString = new StringBuffer();
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    });
 
-            for(int i = 0; i < byteData.length; ++i) {
-                String hex = Integer.toHexString(255 & byteData[i]);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
+    public SHA256() {
+    }
 
-                hexString.append(hex);
-            }
+    public static String encrypt(String planText) {
+        byte[] byteData = DIGEST.get().digest(planText.getBytes());
 
-            return hexString.toString();
-        } catch (Exception var7) {
-            var7.printStackTrace();
-            throw new RuntimeException();
+        char[] hexString = new char[byteData.length * 2];
+        for (int i = 0; i < byteData.length; ++i) {
+            hexString[i * 2] = HEX[(byteData[i] >> 4) & 0xf];
+            hexString[i * 2 + 1] = HEX[byteData[i] & 0xf];
         }
+        return new String(hexString);
     }
 }
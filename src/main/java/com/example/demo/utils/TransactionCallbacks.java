@@ -0,0 +1,45 @@
+package com.example.demo.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionCallbacks {
+    private TransactionCallbacks() {
+    }
+
+    /*
+    현재 트랜잭션이 커밋된 뒤에 실행 (캐시 무효화 등 DB 반영 이후에 해야 하는 작업)
+    트랜잭션 밖에서 호출하면 바로 실행
+     */
+    public static void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+    /*
+    현재 트랜잭션이 커밋되지 않고 끝나면 실행 (롤백, 커밋 중 실패로 커밋 여부를 알 수 없는 경우 포함)
+    커밋 중 실패는 @Transactional 메소드가 끝난 뒤에 생기므로 메소드 안의 catch 대신 이것으로 되돌린다
+    트랜잭션 밖에서 호출하면 실행하지 않는다
+     */
+    public static void unlessCommitted(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    runnable.run();
+                }
+            }
+        });
+    }
+}
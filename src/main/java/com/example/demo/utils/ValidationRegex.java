@@ -1,14 +1,12 @@
 package com.example.demo.utils;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class ValidationRegex {
+    // 호출할 때마다 컴파일하지 않도록 한 번만 만든다 (요청 validation 은 RequestValidators / ValidationScanner 사용)
+    private static final Pattern EMAIL = Pattern.compile("^[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}$", Pattern.CASE_INSENSITIVE);
+
     public static boolean isRegexEmail(String target) {
-        String regex = "^[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}$";
-        Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(target);
-        return matcher.find();
+        return EMAIL.matcher(target).find();
     }
 }
-
@@ -0,0 +1,58 @@
+package com.example.demo.utils;
+
+/**
+ * 정규식 없이 문자를 한 번 훑어서 확인하는 형식 검사 (객체를 만들지 않는다)
+ */
+public class ValidationScanner {
+    private ValidationScanner() {
+    }
+
+    /*
+    ValidationRegex.isRegexEmail 과 같은 기준 : ^[A-Z0-9._%+-]+@[A-Z0-9.-]+\.[A-Z]{2,6}$ (대소문자 무시)
+    @return boolean
+     */
+    public static boolean isEmail(CharSequence target) {
+        int length = target.length();
+        int at = -1;
+        int lastDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = target.charAt(i);
+            if (c == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (at < 0) {
+                if (!isAlphanumeric(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+                    return false;
+                }
+            } else if (c == '.') {
+                lastDot = i;
+            } else if (!isAlphanumeric(c) && c != '-') {
+                return false;
+            }
+        }
+        // 로컬 파트 1자 이상, 도메인 1자 이상, 마지막 '.' 뒤는 영문 2 ~ 6자
+        if (at < 1 || lastDot < at + 2) {
+            return false;
+        }
+        int topLevelLength = length - lastDot - 1;
+        if (topLevelLength < 2 || topLevelLength > 6) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            if (!isLetter(target.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,15 @@
+-- 프로필 / 메인 화면 카운트 테이블
+-- 값은 서버의 쓰기 API 에서 갱신되고, CounterService 가 주기적으로 원본 테이블 기준으로 보정한다.
+
+CREATE TABLE IF NOT EXISTS UserCount (
+    userIdx        INT NOT NULL PRIMARY KEY,
+    postCount      INT NOT NULL DEFAULT 0,
+    followerCount  INT NOT NULL DEFAULT 0, -- Follow.followerIdx = userIdx 인 행 수 (기존 프로필 조회와 같은 기준)
+    followingCount INT NOT NULL DEFAULT 0  -- Follow.followeeIdx = userIdx 인 행 수
+);
+
+CREATE TABLE IF NOT EXISTS PostCount (
+    postIdx       INT NOT NULL PRIMARY KEY,
+    postLikeCount INT NOT NULL DEFAULT 0,
+    commentCount  INT NOT NULL DEFAULT 0
+);
@@ -0,0 +1,11 @@
+-- 팔로우 (FollowService.follow) 용 유니크 키
+-- 팔로우 상태는 (followerIdx, followeeIdx) 한 행을 INSERT ... ON DUPLICATE KEY UPDATE 로 만든 뒤 갱신하므로 한 쌍에 한 행만 있어야 한다.
+-- 기존에 중복된 행이 있으면 가장 최근 행만 남기고 지운 뒤 유니크 키를 추가한다.
+
+DELETE older FROM Follow older
+    JOIN Follow newer
+      ON newer.followerIdx = older.followerIdx
+     AND newer.followeeIdx = older.followeeIdx
+     AND newer.followIdx > older.followIdx;
+
+ALTER TABLE Follow ADD UNIQUE KEY Follow_followerIdx_followeeIdx_uk (followerIdx, followeeIdx);
@@ -0,0 +1,11 @@
+-- 좋아요 write-behind (PostLikeBuffer) 용 유니크 키
+-- 좋아요 상태는 (userIdx, postIdx) 기준 INSERT ... ON DUPLICATE KEY UPDATE 로 저장하므로 한 쌍에 한 행만 있어야 한다.
+-- 기존에 중복된 행이 있으면 가장 최근 행만 남기고 지운 뒤 유니크 키를 추가한다.
+
+DELETE older FROM PostLike older
+    JOIN PostLike newer
+      ON newer.userIdx = older.userIdx
+     AND newer.postIdx = older.postIdx
+     AND newer.postLikeIdx > older.postLikeIdx;
+
+ALTER TABLE PostLike ADD UNIQUE KEY PostLike_userIdx_postIdx_uk (userIdx, postIdx);
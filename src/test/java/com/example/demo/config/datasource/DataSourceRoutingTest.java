@@ -0,0 +1,173 @@
+package com.example.demo.config.datasource;
+
+import com.example.demo.src.routing.RoutingFixtures.TestProvider;
+import com.example.demo.src.routing.RoutingFixtures.TestService;
+import com.example.demo.utils.JwtService;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * primary 1개 + 복제 DB 2개(H2 메모리 DB)로 Provider / Service 호출의 연결 대상 확인
+ */
+class DataSourceRoutingTest {
+
+    private static final AtomicInteger DATABASE_SEQUENCE = new AtomicInteger();
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica1;
+    private SwitchableDataSource replica2;
+    private ReplicaPool replicaPool;
+    private TestProvider testProvider;
+    private TestService testService;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = database("primary");
+        DataSource replica1DataSource = database("replica-1");
+        replica2 = new SwitchableDataSource(database("replica-2"));
+        primary = new JdbcTemplate(primaryDataSource);
+        replica1 = new JdbcTemplate(replica1DataSource);
+
+        replicaPool = new ReplicaPool(Arrays.asList(
+                new ReplicaPool.Replica("replica-1", replica1DataSource),
+                new ReplicaPool.Replica("replica-2", replica2)), 1);
+        JdbcTemplate routing = new JdbcTemplate(new RoutingDataSource(primaryDataSource, replicaPool));
+        DataSourceRoutingAspect aspect = new DataSourceRoutingAspect(new ReadYourWritesWindow(60_000));
+
+        testProvider = proxy(new TestProvider(routing), aspect);
+        testService = proxy(new TestService(routing, testProvider), aspect);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void providerReadsGoToReplicas() {
+        // round-robin 으로 두 복제 DB 를 번갈아 사용하고 primary 는 사용하지 않는다
+        String first = testProvider.selectDatabaseName();
+        String second = testProvider.selectDatabaseName();
+        assertTrue(first.startsWith("replica-"));
+        assertTrue(second.startsWith("replica-"));
+        assertFalse(first.equals(second));
+    }
+
+    @Test
+    void serviceWritesGoToPrimary() {
+        testService.insertNote("hello");
+
+        assertEquals(1, count(primary));
+        assertEquals(0, count(replica1));
+        assertEquals(0, count(new JdbcTemplate(replica2)));
+        // Service 안에서 호출한 Provider 도 primary 를 그대로 사용한다
+        assertEquals("primary", testService.selectDatabaseNameThroughProvider());
+        assertNull(DataSourceRoute.current());
+    }
+
+    @Test
+    void recentWriterReadsGoToPrimary() {
+        requestFrom(7);
+        assertTrue(testProvider.selectDatabaseName().startsWith("replica-"));
+
+        testService.insertNote("hello");
+        // 쓰기 직후 같은 유저의 조회는 primary
+        assertEquals("primary", testProvider.selectDatabaseName());
+        assertEquals("primary", testProvider.selectDatabaseName());
+
+        // 다른 유저는 그대로 복제 DB
+        requestFrom(8);
+        assertTrue(testProvider.selectDatabaseName().startsWith("replica-"));
+    }
+
+    @Test
+    void unhealthyReplicaIsSkipped() {
+        replica2.down = true;
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-1", testProvider.selectDatabaseName());
+        }
+        assertFalse(replicaPool.getReplicas().get(1).isHealthy());
+
+        // 상태 확인에서 다시 연결되면 포함한다
+        replica2.down = false;
+        replicaPool.checkHealth();
+        assertTrue(replicaPool.getReplicas().get(1).isHealthy());
+        String first = testProvider.selectDatabaseName();
+        String second = testProvider.selectDatabaseName();
+        assertFalse(first.equals(second));
+    }
+
+    @Test
+    void allReplicasDownFallsBackToPrimary() {
+        replica2.down = true;
+        replicaPool.markDown(replicaPool.getReplicas().get(0), new SQLException("test"));
+
+        assertEquals("primary", testProvider.selectDatabaseName());
+        assertEquals("primary", testProvider.selectDatabaseName());
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + DATABASE_SEQUENCE.incrementAndGet() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE DatabaseName (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO DatabaseName (name) VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE Note (noteIdx INT AUTO_INCREMENT PRIMARY KEY, content VARCHAR(45))");
+        return dataSource;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, DataSourceRoutingAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+
+    private static int count(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Note", Integer.class);
+    }
+
+    // JwtAuthenticationFilter 가 확인한 userIdx 가 들어 있는 요청
+    private static void requestFrom(int userIdx) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(JwtService.USER_IDX_ATTRIBUTE, userIdx);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    // 연결 실패를 흉내 내는 복제 DB
+    private static class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("replica down");
+            }
+            return super.getConnection();
+        }
+    }
+}
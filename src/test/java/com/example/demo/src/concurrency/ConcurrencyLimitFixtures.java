@@ -0,0 +1,96 @@
+package com.example.demo.src.concurrency;
+
+import com.example.demo.config.BaseException;
+import com.example.demo.utils.DaoExecutor;
+import com.example.demo.utils.NoDaoConcurrencyLimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static com.example.demo.config.BaseResponseStatus.DATABASE_ERROR;
+
+/**
+ * DaoConcurrencyLimitAspect 테스트용 Provider / Dao (aspect 가 com.example.demo.src 아래의 *Provider / *Dao 에 적용되므로 이 패키지에 둔다)
+ */
+public class ConcurrencyLimitFixtures {
+
+    private ConcurrencyLimitFixtures() {
+    }
+
+    public static class TestDao {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile IntSupplier inFlight = () -> -1;
+
+        public int select() {
+            calls.incrementAndGet();
+            return 1;
+        }
+
+        public int fail() {
+            throw new IllegalStateException("connection refused");
+        }
+
+        // 실행 중에 확인한 DaoConcurrencyLimiter 의 실행 중인 호출 수
+        @NoDaoConcurrencyLimit
+        public int export() {
+            calls.incrementAndGet();
+            return inFlight.getAsInt();
+        }
+
+        public int getCalls() {
+            return calls.get();
+        }
+
+        public void setInFlight(IntSupplier inFlight) {
+            this.inFlight = inFlight;
+        }
+    }
+
+    // 기존 Provider 와 같이 예외를 DATABASE_ERROR 로 바꿔 던진다 (원인은 버린다)
+    public static class TestProvider {
+        private final TestDao testDao;
+        private final DaoExecutor daoExecutor;
+
+        public TestProvider(TestDao testDao, DaoExecutor daoExecutor) {
+            this.testDao = testDao;
+            this.daoExecutor = daoExecutor;
+        }
+
+        public int select(Runnable beforeDao) throws BaseException {
+            try {
+                beforeDao.run();
+                return testDao.select();
+            } catch (Exception exception) {
+                throw new BaseException(DATABASE_ERROR);
+            }
+        }
+
+        public int fail() throws BaseException {
+            try {
+                return testDao.fail();
+            } catch (Exception exception) {
+                throw new BaseException(DATABASE_ERROR);
+            }
+        }
+
+        public int selectAsync(Runnable beforeDao) throws BaseException {
+            try {
+                beforeDao.run();
+                return daoExecutor.supply(testDao::select).join();
+            } catch (Exception exception) {
+                throw new BaseException(DATABASE_ERROR);
+            }
+        }
+
+        // CompletionException 을 그대로 던진다
+        public int selectAsyncUnwrapped(Runnable beforeDao) throws BaseException {
+            beforeDao.run();
+            return daoExecutor.supply(testDao::select).join();
+        }
+
+        public int export(Runnable beforeDao) throws BaseException {
+            beforeDao.run();
+            return testDao.export();
+        }
+    }
+}
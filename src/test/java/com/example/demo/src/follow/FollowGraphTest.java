@@ -0,0 +1,167 @@
+package com.example.demo.src.follow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class FollowGraphTest {
+
+    @Test
+    void buildSortsAndRemovesDuplicates() {
+        int[] from = {3, 1, 3, 1, 3, 1};
+        int[] to = {9, 5, 7, 2, 9, 5};
+        FollowGraph.Adjacency adjacency = FollowGraph.Adjacency.build(from, to, from.length);
+
+        assertArrayEquals(new int[] {2, 5}, adjacency.get(1));
+        assertArrayEquals(new int[] {7, 9}, adjacency.get(3));
+        assertArrayEquals(new int[0], adjacency.get(2));
+        // 읽은 범위 밖의 유저
+        assertArrayEquals(new int[0], adjacency.get(100));
+        assertArrayEquals(new int[0], adjacency.get(-1));
+        assertEquals(4, adjacency.edgeCount());
+    }
+
+    @Test
+    void updatesMergeWithBase() {
+        FollowGraph.Adjacency adjacency = FollowGraph.Adjacency.build(new int[] {1, 1, 1}, new int[] {10, 20, 30}, 3);
+
+        adjacency.update(1, 25, true);
+        adjacency.update(1, 5, true);
+        adjacency.update(1, 20, false);
+        adjacency.update(1, 10, true); // 이미 있음
+        adjacency.update(1, 99, false); // 없음
+        assertArrayEquals(new int[] {5, 10, 25, 30}, adjacency.get(1));
+        assertEquals(4, adjacency.edgeCount());
+
+        // 뺐던 값 다시 추가 / 추가했던 값 다시 빼기
+        adjacency.update(1, 20, true);
+        adjacency.update(1, 5, false);
+        assertArrayEquals(new int[] {10, 20, 25, 30}, adjacency.get(1));
+
+        // 읽은 시점에 없던 유저
+        adjacency.update(7, 1, true);
+        assertArrayEquals(new int[] {1}, adjacency.get(7));
+        assertEquals(5, adjacency.edgeCount());
+
+        // 돌려준 배열을 바꿔도 목록은 그대로
+        adjacency.get(1)[0] = -1;
+        assertArrayEquals(new int[] {10, 20, 25, 30}, adjacency.get(1));
+    }
+
+    @Test
+    void rowCompactsWhenDeltaExceedsLimit() {
+        // 목록 100 개 : 변경분 max(16, sqrt(100)) 개까지는 added / removed 로 두고, 넘으면 전체 목록으로 다시 만든다
+        int[] from = new int[100];
+        int[] to = new int[100];
+        for (int i = 0; i < 100; i++) {
+            from[i] = 1;
+            to[i] = i * 2;
+        }
+        FollowGraph.Adjacency adjacency = FollowGraph.Adjacency.build(from, to, 100);
+        long baseBytes = adjacency.sizeInBytes();
+
+        for (int i = 0; i < 16; i++) {
+            adjacency.update(1, 1000 + i, true);
+        }
+        // Row (24) + base 없음 + added 16 개 + removed 0 개
+        assertEquals(baseBytes + 100 + 24 + 16 + 4 * 16 + 16, adjacency.sizeInBytes());
+
+        adjacency.update(1, 1016, true);
+        // base 117 개로 합쳐지고 added / removed 는 비어 있다
+        assertEquals(baseBytes + 100 + 24 + 16 + 4 * 117 + 16 + 16, adjacency.sizeInBytes());
+        assertEquals(117, adjacency.get(1).length);
+        assertEquals(117, adjacency.edgeCount());
+
+        // 합친 뒤의 변경은 새 base 기준
+        adjacency.update(1, 0, false);
+        adjacency.update(1, 1016, false);
+        adjacency.update(1, 1016, true);
+        int[] followees = adjacency.get(1);
+        assertEquals(116, followees.length);
+        assertEquals(2, followees[0]);
+        assertEquals(1016, followees[followees.length - 1]);
+        assertEquals(baseBytes + 100 + 24 + 16 + 4 * 117 + 16 + 16 + 4, adjacency.sizeInBytes());
+    }
+
+    @Test
+    void randomUpdatesMatchSortedSet() {
+        Random random = new Random(42);
+        int users = 20;
+        int size = 400;
+        int[] from = new int[size];
+        int[] to = new int[size];
+        Map<Integer, TreeSet<Integer>> expected = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            from[i] = random.nextInt(users);
+            to[i] = random.nextInt(200);
+            expected.computeIfAbsent(from[i], key -> new TreeSet<>()).add(to[i]);
+        }
+        FollowGraph.Adjacency adjacency = FollowGraph.Adjacency.build(from, to, size);
+
+        for (int i = 0; i < 20_000; i++) {
+            int idx = random.nextInt(users + 5);
+            int target = random.nextInt(200);
+            boolean add = random.nextBoolean();
+            adjacency.update(idx, target, add);
+            TreeSet<Integer> targets = expected.computeIfAbsent(idx, key -> new TreeSet<>());
+            if (add) {
+                targets.add(target);
+            } else {
+                targets.remove(target);
+            }
+        }
+
+        long edges = 0;
+        for (int idx = 0; idx < users + 5; idx++) {
+            TreeSet<Integer> targets = expected.getOrDefault(idx, new TreeSet<>());
+            assertArrayEquals(targets.stream().mapToInt(Integer::intValue).toArray(), adjacency.get(idx), String.valueOf(idx));
+            edges += targets.size();
+        }
+        assertEquals(edges, adjacency.edgeCount());
+    }
+
+    @Test
+    void updatesBothDirections() {
+        FollowGraph followGraph = new FollowGraph(null);
+        followGraph.load(new int[] {1, 1, 2}, new int[] {2, 3, 3}, 3);
+
+        followGraph.update(3, 1, true);
+        followGraph.update(1, 2, false);
+        assertArrayEquals(new int[] {3}, followGraph.followees(1));
+        assertArrayEquals(new int[] {1}, followGraph.followees(3));
+        assertArrayEquals(new int[] {1, 2}, followGraph.followers(3));
+        assertArrayEquals(new int[0], followGraph.followers(2));
+        assertArrayEquals(new int[] {3}, followGraph.followers(1));
+    }
+
+    @Test
+    void rebuildKeepsChangesMadeWhileLoading() {
+        FollowDao followDao = mock(FollowDao.class);
+        FollowGraph followGraph = new FollowGraph(followDao);
+        doAnswer(invocation -> {
+            FollowDao.FollowEdgeHandler handler = invocation.getArgument(0);
+            handler.accept(1, 2);
+            // 읽는 도중 커밋된 팔로우 / 언팔로우 (이미 읽은 행, 아직 읽지 않은 행)
+            followGraph.update(1, 4, true);
+            followGraph.update(1, 3, false);
+            handler.accept(1, 3);
+            return null;
+        }).when(followDao).selectFollowEdges(any());
+
+        followGraph.rebuild();
+
+        assertArrayEquals(new int[] {2, 4}, followGraph.followees(1));
+        assertArrayEquals(new int[] {1}, followGraph.followers(4));
+        assertArrayEquals(new int[0], followGraph.followers(3));
+        assertArrayEquals(new int[] {1}, followGraph.followers(2));
+    }
+}
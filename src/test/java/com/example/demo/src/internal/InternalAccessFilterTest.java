@@ -0,0 +1,79 @@
+package com.example.demo.src.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InternalAccessFilterTest {
+
+    @Test
+    void allowsLoopbackAndConfiguredAddresses() throws Exception {
+        InternalAccessFilter filter = filter(null);
+
+        assertAllowed(filter, request("127.0.0.1", null));
+        assertAllowed(filter, request("0:0:0:0:0:0:0:1", null));
+        assertAllowed(filter, request("10.0.0.5", null));
+        assertForbidden(filter, request("10.0.0.6", null));
+    }
+
+    @Test
+    void allowsMatchingTokenOnly() throws Exception {
+        InternalAccessFilter filter = filter("s3cret");
+
+        assertAllowed(filter, request("203.0.113.1", "s3cret"));
+        assertForbidden(filter, request("203.0.113.1", "s3cre"));
+        assertForbidden(filter, request("203.0.113.1", null));
+    }
+
+    @Test
+    void emptyTokenDisablesTokenAccess() throws Exception {
+        assertForbidden(filter(""), request("203.0.113.1", ""));
+    }
+
+    @Test
+    void ignoresForwardedForHeader() throws Exception {
+        MockHttpServletRequest request = request("203.0.113.1", null);
+        request.addHeader("X-Forwarded-For", "127.0.0.1");
+        assertForbidden(filter(null), request);
+    }
+
+    private static InternalAccessFilter filter(String accessToken) throws Exception {
+        InternalAccessProperties properties = new InternalAccessProperties();
+        properties.setAllowedAddresses(Collections.singletonList("10.0.0.5"));
+        properties.setAccessToken(accessToken);
+        return new InternalAccessFilter(properties, new ObjectMapper());
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/internal/metrics");
+        request.setRemoteAddr(remoteAddr);
+        if (token != null) {
+            request.addHeader(InternalAccessFilter.ACCESS_TOKEN_HEADER, token);
+        }
+        return request;
+    }
+
+    private static void assertAllowed(InternalAccessFilter filter, MockHttpServletRequest request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+    }
+
+    private static void assertForbidden(InternalAccessFilter filter, MockHttpServletRequest request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        assertNull(chain.getRequest());
+        assertEquals(403, response.getStatus());
+        assertTrue(response.getContentAsString().contains("2003"));
+    }
+}
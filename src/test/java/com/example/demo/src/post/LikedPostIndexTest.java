@@ -0,0 +1,176 @@
+package com.example.demo.src.post;
+
+import com.example.demo.config.datasource.DataSourceRoute;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LikedPostIndexTest {
+
+    // 구간 3 (상위 16비트) 의 postIdx
+    private static int post(int low) {
+        return (3 << 16) + low;
+    }
+
+    @Test
+    void addRemoveAcrossContainers() {
+        LikedPostIndex.LikedPosts posts = new LikedPostIndex.LikedPosts();
+        int[] postIdxs = {70_000, 5, 200_000, 65_535, 65_536, 1, 131_072, 70_001};
+        for (int postIdx : postIdxs) {
+            posts.add(postIdx);
+        }
+        posts.add(5); // 중복
+
+        for (int postIdx : postIdxs) {
+            assertTrue(posts.contains(postIdx), String.valueOf(postIdx));
+        }
+        assertFalse(posts.contains(2));
+        assertFalse(posts.contains(70_002));
+        assertFalse(posts.contains(300_000));
+
+        posts.remove(5);
+        posts.remove(6); // 없는 값
+        posts.remove(400_000); // 없는 구간
+        assertFalse(posts.contains(5));
+        assertTrue(posts.contains(1));
+    }
+
+    @Test
+    void arraySwitchesToBitmapAboveArrayMax() throws ReflectiveOperationException {
+        LikedPostIndex.LikedPosts posts = new LikedPostIndex.LikedPosts();
+        // 4096 개까지는 정렬된 배열 (역순으로 넣어도 정렬)
+        for (int i = 4095; i >= 0; i--) {
+            posts.add(post(i * 16));
+        }
+        assertTrue(container(posts, 0) instanceof char[]);
+        assertEquals(4096, ((char[]) container(posts, 0)).length);
+
+        // 4097 번째에서 bitmap 으로
+        posts.add(post(1));
+        assertTrue(container(posts, 0) instanceof long[]);
+        for (int i = 0; i < 4096; i++) {
+            assertTrue(posts.contains(post(i * 16)));
+            assertFalse(posts.contains(post(i * 16 + 2)));
+        }
+        assertTrue(posts.contains(post(1)));
+
+        // 다시 4096 개가 되면 배열로
+        posts.remove(post(0));
+        Object container = container(posts, 0);
+        assertTrue(container instanceof char[]);
+        char[] values = (char[]) container;
+        assertEquals(4096, values.length);
+        char[] sorted = values.clone();
+        Arrays.sort(sorted);
+        assertTrue(Arrays.equals(sorted, values));
+        assertFalse(posts.contains(post(0)));
+        assertTrue(posts.contains(post(1)));
+        assertTrue(posts.contains(post(16)));
+
+        // 배열 상태에서 다시 넘치면 bitmap
+        posts.add(post(2));
+        assertTrue(container(posts, 0) instanceof long[]);
+        assertTrue(posts.contains(post(2)));
+    }
+
+    @Test
+    void removingLastPostRemovesContainer() {
+        LikedPostIndex.LikedPosts posts = new LikedPostIndex.LikedPosts();
+        posts.add(1);
+        posts.add(65_536 + 1);
+        posts.add(2 * 65_536 + 1);
+        posts.add(2 * 65_536 + 2);
+        int sizeWithThree = posts.sizeInBytes();
+
+        // 가운데 구간을 지우면 뒤 구간이 앞으로 당겨진다
+        posts.remove(65_536 + 1);
+        assertEquals(sizeWithThree - (16 + 2 * 4), posts.sizeInBytes());
+        assertFalse(posts.contains(65_536 + 1));
+        assertTrue(posts.contains(1));
+        assertTrue(posts.contains(2 * 65_536 + 1));
+        assertTrue(posts.contains(2 * 65_536 + 2));
+
+        // 첫 / 마지막 구간
+        posts.remove(1);
+        posts.remove(2 * 65_536 + 1);
+        posts.remove(2 * 65_536 + 2);
+        assertFalse(posts.contains(1));
+        assertFalse(posts.contains(2 * 65_536 + 2));
+        assertEquals(emptySizeWithCapacity4(), posts.sizeInBytes());
+
+        // 지운 구간에 다시 추가
+        posts.add(65_536 + 7);
+        assertTrue(posts.contains(65_536 + 7));
+        assertEquals(emptySizeWithCapacity4() + 16 + 2 * 4, posts.sizeInBytes());
+    }
+
+    @Test
+    void sizeInBytesTracksContainers() {
+        LikedPostIndex.LikedPosts posts = new LikedPostIndex.LikedPosts();
+        // header 16 + 배열 3개 header 16 * 4
+        assertEquals(80, posts.sizeInBytes());
+
+        posts.add(post(1));
+        // 구간 배열 capacity 4 (char 2 + 참조 4 + int 4) + 배열 container (header 16 + char 4개)
+        assertEquals(emptySizeWithCapacity4() + 16 + 2 * 4, posts.sizeInBytes());
+
+        for (int i = 2; i <= 5; i++) {
+            posts.add(post(i));
+        }
+        // 5 개 : char 배열 capacity 8
+        assertEquals(emptySizeWithCapacity4() + 16 + 2 * 8, posts.sizeInBytes());
+
+        for (int i = 6; i <= 4097; i++) {
+            posts.add(post(i));
+        }
+        // bitmap : 8 KB
+        assertEquals(emptySizeWithCapacity4() + 16 + 8 * 1024, posts.sizeInBytes());
+
+        // 구간 5 개 : 구간 배열 capacity 8
+        for (int high = 4; high <= 7; high++) {
+            posts.add((high << 16) + 1);
+        }
+        assertEquals(80 + 8 * (2 + 4 + 4) + 16 + 8 * 1024 + 4 * (16 + 2 * 4), posts.sizeInBytes());
+    }
+
+    @Test
+    void loadReadsFromPrimary() {
+        PostDao postDao = mock(PostDao.class);
+        AtomicReference<DataSourceRoute> route = new AtomicReference<>();
+        when(postDao.selectLikedPostIdxs(7)).thenAnswer(invocation -> {
+            route.set(DataSourceRoute.current());
+            return Arrays.asList(10, 70_000);
+        });
+        LikedPostIndex likedPostIndex = new LikedPostIndex(postDao, new PostLikeBuffer(100), 1 << 20, 30);
+
+        // Provider(REPLICA) 안에서 호출되어도 primary 에서 읽고 원래 값으로 되돌린다
+        DataSourceRoute previous = DataSourceRoute.enter(DataSourceRoute.REPLICA);
+        try {
+            assertTrue(likedPostIndex.isLiked(7, 10));
+            assertTrue(likedPostIndex.isLiked(7, 70_000));
+            assertFalse(likedPostIndex.isLiked(7, 11));
+            assertEquals(DataSourceRoute.PRIMARY, route.get());
+            assertEquals(DataSourceRoute.REPLICA, DataSourceRoute.current());
+        } finally {
+            DataSourceRoute.restore(previous);
+        }
+    }
+
+    private static int emptySizeWithCapacity4() {
+        return 80 + 4 * (2 + 4 + 4);
+    }
+
+    private static Object container(LikedPostIndex.LikedPosts posts, int index) throws ReflectiveOperationException {
+        Field containers = LikedPostIndex.LikedPosts.class.getDeclaredField("containers");
+        containers.setAccessible(true);
+        return ((Object[]) containers.get(posts))[index];
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.demo.src.post;
+
+import com.example.demo.config.BaseException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.demo.config.BaseResponseStatus.POSTS_LIKE_BUSY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostLikeBufferTest {
+
+    private final PostLikeBuffer postLikeBuffer = new PostLikeBuffer(100);
+
+    @Test
+    void recordReturnsWhetherStateChanged() throws BaseException {
+        assertTrue(postLikeBuffer.record(1, 10, true, () -> false));
+        // 대기 중인 상태가 있으면 likedBefore 를 조회하지 않는다
+        assertFalse(postLikeBuffer.record(1, 10, true, () -> { throw new AssertionError("likedBefore"); }));
+        // 이미 좋아요 한 게시물
+        assertFalse(postLikeBuffer.record(1, 11, true, () -> true));
+
+        assertEquals(1, postLikeBuffer.getPendingCount());
+        assertEquals(Collections.singletonMap(10, 1L), postLikeBuffer.drain().getLikeCountDeltas());
+    }
+
+    @Test
+    void drainSortsLikesAndSkipsZeroDeltas() throws BaseException {
+        postLikeBuffer.record(2, 20, true, () -> false);
+        postLikeBuffer.record(1, 30, true, () -> false);
+        postLikeBuffer.record(1, 20, true, () -> false);
+        // 좋아요 후 취소 : 좋아요 수 변화량은 0 이지만 상태는 저장한다
+        postLikeBuffer.record(1, 40, true, () -> false);
+        postLikeBuffer.record(1, 40, false, () -> false);
+
+        PostLikeBuffer.Batch batch = postLikeBuffer.drain();
+        assertEquals("1:20 1:30 1:40 2:20", keys(batch.getLikes()));
+        assertEquals(2L, batch.getLikeCountDeltas().get(20));
+        assertEquals(1L, batch.getLikeCountDeltas().get(30));
+        assertFalse(batch.getLikeCountDeltas().containsKey(40));
+    }
+
+    @Test
+    void committedKeepsLikesChangedAfterDrain() throws BaseException {
+        postLikeBuffer.record(1, 10, true, () -> false);
+        postLikeBuffer.record(1, 11, true, () -> false);
+        PostLikeBuffer.Batch batch = postLikeBuffer.drain();
+
+        // 저장하는 동안 취소
+        postLikeBuffer.record(1, 10, false, () -> true);
+        postLikeBuffer.committed(batch);
+
+        assertEquals(1, postLikeBuffer.getPendingCount());
+        PostLikeBuffer.Batch next = postLikeBuffer.drain();
+        assertEquals("1:10", keys(next.getLikes()));
+        assertFalse(next.getLikes().get(0).isLiked());
+        assertEquals(Collections.singletonMap(10, -1L), next.getLikeCountDeltas());
+
+        postLikeBuffer.committed(next);
+        assertTrue(postLikeBuffer.isEmpty());
+    }
+
+    @Test
+    void restoreReturnsDeltasToNextDrain() throws BaseException {
+        postLikeBuffer.record(1, 10, true, () -> false);
+        postLikeBuffer.record(2, 10, true, () -> false);
+        PostLikeBuffer.Batch failed = postLikeBuffer.drain();
+        // 저장 실패 후 다음 drain 전에 들어온 좋아요
+        postLikeBuffer.record(3, 10, true, () -> false);
+        postLikeBuffer.restore(failed);
+
+        PostLikeBuffer.Batch retry = postLikeBuffer.drain();
+        assertEquals(Collections.singletonMap(10, 3L), retry.getLikeCountDeltas());
+        assertEquals("1:10 2:10 3:10", keys(retry.getLikes()));
+    }
+
+    @Test
+    void drainStartsNewGeneration() throws BaseException {
+        postLikeBuffer.record(1, 10, true, () -> false);
+        assertEquals(Collections.singletonMap(10, 1L), postLikeBuffer.drain().getLikeCountDeltas());
+
+        postLikeBuffer.record(2, 10, true, () -> false);
+        postLikeBuffer.record(2, 11, true, () -> false);
+        Map<Integer, Long> deltas = postLikeBuffer.drain().getLikeCountDeltas();
+        assertEquals(1L, deltas.get(10));
+        assertEquals(1L, deltas.get(11));
+
+        assertTrue(postLikeBuffer.drain().getLikeCountDeltas().isEmpty());
+    }
+
+    @Test
+    void maxPendingRejectsOnlyNewKeys() throws BaseException {
+        PostLikeBuffer buffer = new PostLikeBuffer(2);
+        buffer.record(1, 10, true, () -> false);
+        buffer.record(1, 11, true, () -> false);
+
+        BaseException exception = assertThrows(BaseException.class, () -> buffer.record(1, 12, true, () -> false));
+        assertEquals(POSTS_LIKE_BUSY, exception.getStatus());
+        // 대기 중인 좋아요는 바꿀 수 있다
+        assertTrue(buffer.record(1, 10, false, () -> false));
+
+        // 저장 후에는 다시 받는다
+        buffer.committed(buffer.drain());
+        assertTrue(buffer.record(1, 12, true, () -> false));
+    }
+
+    @Test
+    void likedBeforeRunsWithoutHoldingMapLock() {
+        // likedBefore(DB 조회) 중에 다른 스레드가 같은 key 를 기록해도 기다리지 않는다
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            AtomicInteger calls = new AtomicInteger();
+            boolean changed = postLikeBuffer.record(1, 10, true, () -> {
+                calls.incrementAndGet();
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        postLikeBuffer.record(1, 10, true, () -> false);
+                    } catch (BaseException exception) {
+                        throw new IllegalStateException(exception);
+                    }
+                }).join();
+                return false;
+            });
+
+            // 다른 스레드가 먼저 기록했으므로 대기 중인 상태를 보고 다시 판단한다
+            assertFalse(changed);
+            assertEquals(1, calls.get());
+            assertEquals(Collections.singletonMap(10, 1L), postLikeBuffer.drain().getLikeCountDeltas());
+        });
+    }
+
+    @Test
+    void commitDuringLikedBeforeRetries() throws BaseException {
+        postLikeBuffer.record(1, 10, true, () -> false);
+        PostLikeBuffer.Batch batch = postLikeBuffer.drain();
+
+        // 조회하는 동안 저장이 끝나면 조회한 상태가 지난 값일 수 있으므로 다시 조회한다
+        AtomicInteger calls = new AtomicInteger();
+        assertTrue(postLikeBuffer.record(2, 20, true, () -> {
+            if (calls.incrementAndGet() == 1) {
+                postLikeBuffer.committed(batch);
+            }
+            return false;
+        }));
+        assertEquals(2, calls.get());
+        assertEquals("2:20", keys(postLikeBuffer.drain().getLikes()));
+    }
+
+    @Test
+    void concurrentRecordsKeepDeltasConsistentWithStates() throws Exception {
+        int threads = 8;
+        int posts = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                executor.submit(() -> {
+                    Random random = new Random(seed);
+                    start.await();
+                    for (int i = 0; i < 20_000; i++) {
+                        // DB 에는 좋아요가 없는 상태
+                        postLikeBuffer.record(1, random.nextInt(posts), random.nextBoolean(), () -> false);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        PostLikeBuffer.Batch batch = postLikeBuffer.drain();
+        for (PostLikeBuffer.PendingLike pendingLike : batch.getLikes()) {
+            long expected = pendingLike.isLiked() ? 1 : 0;
+            assertEquals(expected, batch.getLikeCountDeltas().getOrDefault(pendingLike.getPostIdx(), 0L).longValue());
+        }
+    }
+
+    private static String keys(List<PostLikeBuffer.PendingLike> likes) {
+        StringBuilder keys = new StringBuilder();
+        for (PostLikeBuffer.PendingLike pendingLike : likes) {
+            if (keys.length() > 0) {
+                keys.append(' ');
+            }
+            keys.append(pendingLike.getUserIdx()).append(':').append(pendingLike.getPostIdx());
+        }
+        return keys.toString();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.src.post;
+
+import com.example.demo.config.BaseException;
+import com.example.demo.src.counter.CounterDao;
+import com.example.demo.utils.ContentVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * flushLikes 가 커밋되지 않으면 좋아요 수 변화량이 버퍼로 돌아오는지 (DB 없이 트랜잭션 결과만 흉내 낸다)
+ */
+class PostServiceFlushLikesTest {
+
+    private final PostLikeBuffer postLikeBuffer = new PostLikeBuffer(100);
+    private final PostDao postDao = mock(PostDao.class);
+    private final CounterDao counterDao = mock(CounterDao.class);
+    private final FakeTransactionManager transactionManager = new FakeTransactionManager();
+    private PostService postService;
+
+    @BeforeEach
+    void setUp() throws BaseException {
+        when(postDao.selectPostUserIdxs(any())).thenReturn(Collections.singletonList(9));
+        PostService target = new PostService(postDao, null, null, postLikeBuffer, null, counterDao, null,
+                mock(ContentVersions.class), null);
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        TransactionInterceptor transactionInterceptor = new TransactionInterceptor();
+        transactionInterceptor.setTransactionManager(transactionManager);
+        transactionInterceptor.setTransactionAttributeSource(new AnnotationTransactionAttributeSource());
+        factory.addAdvice(transactionInterceptor);
+        postService = (PostService) factory.getProxy();
+
+        postLikeBuffer.record(1, 10, true, () -> false);
+        postLikeBuffer.record(2, 10, true, () -> false);
+    }
+
+    @Test
+    void committedFlushClearsBuffer() throws BaseException {
+        // 좋아요 상태 2건 + 좋아요 수를 갱신한 게시물 1개
+        assertEquals(3, postService.flushLikes());
+
+        assertTrue(postLikeBuffer.isEmpty());
+        assertTrue(postLikeBuffer.drain().isEmpty());
+    }
+
+    @Test
+    void failedCommitRestoresDeltas() {
+        // 메소드는 정상적으로 끝나고 커밋에서 실패
+        transactionManager.failCommit = true;
+        assertThrows(TransactionSystemException.class, postService::flushLikes);
+
+        PostLikeBuffer.Batch retry = postLikeBuffer.drain();
+        assertEquals(Collections.singletonMap(10, 2L), retry.getLikeCountDeltas());
+        assertEquals(2, retry.getLikes().size());
+    }
+
+    @Test
+    void failedQueryRestoresDeltasOnce() {
+        doThrow(new IllegalStateException("deadlock")).when(counterDao).updatePostLikeCounts(anyMap());
+        assertThrows(BaseException.class, postService::flushLikes);
+
+        Map<Integer, Long> deltas = postLikeBuffer.drain().getLikeCountDeltas();
+        assertEquals(Collections.singletonMap(10, 2L), deltas);
+        assertEquals(1, transactionManager.rollbacks);
+    }
+
+    // 커밋 / 롤백만 흉내 내는 트랜잭션 매니저
+    private static class FakeTransactionManager extends AbstractPlatformTransactionManager {
+        private static final long serialVersionUID = 1L;
+
+        private boolean failCommit;
+        private int rollbacks;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            if (failCommit) {
+                throw new TransactionSystemException("commit failed");
+            }
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks++;
+        }
+    }
+}
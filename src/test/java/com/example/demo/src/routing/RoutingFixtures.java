@@ -0,0 +1,45 @@
+package com.example.demo.src.routing;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * DataSourceRoutingAspect 테스트용 Provider / Service (aspect 가 com.example.demo.src 아래의 *Provider / *Service 에 적용되므로 이 패키지에 둔다)
+ * 각 DB 의 DatabaseName 테이블에는 DB 이름이 한 줄 들어 있다.
+ */
+public class RoutingFixtures {
+
+    private RoutingFixtures() {
+    }
+
+    public static class TestProvider {
+        private final JdbcTemplate jdbcTemplate;
+
+        public TestProvider(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        // 조회한 DB 이름
+        public String selectDatabaseName() {
+            return jdbcTemplate.queryForObject("SELECT name FROM DatabaseName", String.class);
+        }
+    }
+
+    public static class TestService {
+        private final JdbcTemplate jdbcTemplate;
+        private final TestProvider testProvider;
+
+        public TestService(JdbcTemplate jdbcTemplate, TestProvider testProvider) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.testProvider = testProvider;
+        }
+
+        public void insertNote(String content) {
+            jdbcTemplate.update("INSERT INTO Note (content) VALUES (?)", content);
+        }
+
+        // Service 안에서 호출한 Provider 가 조회한 DB 이름
+        public String selectDatabaseNameThroughProvider() {
+            return testProvider.selectDatabaseName();
+        }
+    }
+}
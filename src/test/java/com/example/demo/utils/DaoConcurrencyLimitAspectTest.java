@@ -0,0 +1,127 @@
+package com.example.demo.utils;
+
+import com.example.demo.config.BaseException;
+import com.example.demo.config.BaseResponseStatus;
+import com.example.demo.config.datasource.DataSourceRoutingAspect;
+import com.example.demo.config.datasource.ReadYourWritesWindow;
+import com.example.demo.src.concurrency.ConcurrencyLimitFixtures.TestDao;
+import com.example.demo.src.concurrency.ConcurrencyLimitFixtures.TestProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static com.example.demo.config.BaseResponseStatus.DATABASE_ERROR;
+import static com.example.demo.config.BaseResponseStatus.SERVER_ERROR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DaoConcurrencyLimitAspectTest {
+
+    private DaoConcurrencyLimiter daoConcurrencyLimiter;
+    private DaoExecutor daoExecutor;
+    private TestDao testDao;
+    private TestDao testDaoProxy;
+    private TestProvider testProvider;
+
+    @BeforeEach
+    void setUp() {
+        // limit 1 로 고정
+        daoConcurrencyLimiter = new DaoConcurrencyLimiter(1, 1, 1, 1.5, 0.2, 100, 10, 2000);
+        daoExecutor = new DaoExecutor(2, 10, 2000);
+        DaoConcurrencyLimitAspect limitAspect = new DaoConcurrencyLimitAspect(daoConcurrencyLimiter);
+        DataSourceRoutingAspect routingAspect = new DataSourceRoutingAspect(new ReadYourWritesWindow(0));
+
+        testDao = new TestDao();
+        testDaoProxy = proxy(testDao, limitAspect);
+        testDao.setInFlight(daoConcurrencyLimiter::getInFlight);
+        // DaoConcurrencyLimitAspect 가 DataSourceRoutingAspect 보다 바깥
+        testProvider = proxy(new TestProvider(testDaoProxy, daoExecutor), limitAspect, routingAspect);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        daoExecutor.shutdown();
+    }
+
+    @Test
+    void allowsDaoCallsWithinLimit() throws BaseException {
+        assertEquals(1, testProvider.select(() -> { }));
+        assertEquals(1, testProvider.selectAsync(() -> { }));
+        assertEquals(0, daoConcurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    void shedsRequestWhenSaturatedAtEntry() {
+        assertTrue(daoConcurrencyLimiter.tryAcquire());
+        assertStatus(SERVER_ERROR, () -> testProvider.select(() -> { }));
+        assertEquals(0, testDao.getCalls());
+    }
+
+    @Test
+    void daoRejectionBecomesServerError() {
+        // Provider 가 시작된 뒤 limit 가 차면 Dao 호출이 거절되고, Provider 가 DATABASE_ERROR 로 바꿔도 SERVER_ERROR 로 응답
+        assertStatus(SERVER_ERROR, () -> testProvider.select(daoConcurrencyLimiter::tryAcquire));
+        assertEquals(0, testDao.getCalls());
+    }
+
+    @Test
+    void daoRejectionOnDaoExecutorBecomesServerError() {
+        assertStatus(SERVER_ERROR, () -> testProvider.selectAsync(daoConcurrencyLimiter::tryAcquire));
+    }
+
+    @Test
+    void wrappedDaoRejectionBecomesServerError() {
+        // CompletionException 안의 DaoConcurrencyLimitException
+        assertStatus(SERVER_ERROR, () -> testProvider.selectAsyncUnwrapped(daoConcurrencyLimiter::tryAcquire));
+    }
+
+    @Test
+    void databaseErrorStaysDatabaseError() {
+        assertStatus(DATABASE_ERROR, () -> testProvider.fail());
+    }
+
+    @Test
+    void rejectionIsNotCarriedToNextRequest() throws BaseException {
+        assertStatus(SERVER_ERROR, () -> testProvider.select(daoConcurrencyLimiter::tryAcquire));
+        daoConcurrencyLimiter.release(0);
+
+        assertStatus(DATABASE_ERROR, () -> testProvider.fail());
+        assertEquals(1, testProvider.select(() -> { }));
+    }
+
+    @Test
+    void exportIsNotLimited() throws BaseException {
+        // limit 가 찬 뒤에도 실행되고 자리를 차지하지 않는다
+        assertEquals(1, testProvider.export(daoConcurrencyLimiter::tryAcquire));
+        assertEquals(1, testDao.getCalls());
+    }
+
+    @Test
+    void daoCallsOutsideRequestAreNotLimited() {
+        // Provider / Service 를 거치지 않는 호출 (DataSourceRoute 없음)
+        assertTrue(daoConcurrencyLimiter.tryAcquire());
+        assertEquals(1, testDaoProxy.select());
+    }
+
+    private static void assertStatus(BaseResponseStatus status, Executable executable) {
+        assertEquals(status, assertThrows(BaseException.class, executable).getStatus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, Object... aspects) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        for (Object aspect : aspects) {
+            factory.addAspect(aspect);
+        }
+        return (T) factory.getProxy();
+    }
+}